@@ -2,6 +2,12 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Ponto de entrada (Main Class) - Agora com Benchmark de TEMPO e MEMÓRIA.
@@ -60,9 +66,24 @@ public class App {
             case "QUICK":
                 QuickSort.sort(arrayTeste, 0, arrayTeste.length - 1);
                 break;
+            case "QUICK_3WAY":
+                QuickSort.sortThreeWay(arrayTeste, 0, arrayTeste.length - 1);
+                break;
             case "SMART":
                 SmartSort.sort(arrayTeste);
                 break;
+            case "SMART_3WAY":
+                SmartSort.sortThreeWay(arrayTeste);
+                break;
+            case "SMART_TUNED":
+                SmartSort.sortTuned(arrayTeste);
+                break;
+            case "SMART_ADAPTIVE":
+                SmartSort.sortAdaptive(arrayTeste);
+                break;
+            case "SMART_BRANCHLESS":
+                SmartSort.sortBranchless(arrayTeste);
+                break;
         }
         
         // Medição Final
@@ -89,7 +110,9 @@ public class App {
         
         String tipoAlgo = "";
         if (scenario.contains("MERGE")) tipoAlgo = "MERGE";
+        else if (scenario.contains("QUICK_3WAY")) tipoAlgo = "QUICK_3WAY";
         else if (scenario.contains("QUICK")) tipoAlgo = "QUICK";
+        else if (scenario.contains("SMART_3WAY")) tipoAlgo = "SMART_3WAY";
         else if (scenario.contains("SMART")) tipoAlgo = "SMART";
         
         for (int i = 0; i < repeticoes; i++) {
@@ -102,7 +125,7 @@ public class App {
                 arrayTeste = arraySorted.clone();
                 reverseArray(arrayTeste);
             } else { 
-                arrayTeste = arraySorted; 
+                arrayTeste = arraySorted.clone(); 
             }
             
             double[] resultados = executarTesteCompleto(arrayTeste, tipoAlgo);
@@ -113,11 +136,483 @@ public class App {
         return new double[]{somaTempo / repeticoes, somaMemoria / repeticoes};
     }
     
+    // =======================================================
+    // BENCHMARK DE BAIXA CARDINALIDADE (CHAVES REPETIDAS)
+    // =======================================================
+
+    /**
+     * Compara a partição de Lomuto com a de três vias em uma coluna com poucos valores
+     * distintos (coluna "quality" do dataset, que só tem notas inteiras de 3 a 9).
+     */
+    private static void executarBenchmarkBaixaCardinalidade() {
+        String filePath = "CSV/winequality-white.csv";
+        int columnIndex = 11;
+
+        double[] data = DatasetLoader.loadColumn(filePath, columnIndex);
+        if (data.length == 0) {
+            System.out.println("Aviso: CSV não encontrado ou vazio. Gerando notas aleatórias (3 a 9) para teste.");
+            data = new double[5000];
+            Random r = new Random();
+            for (int i = 0; i < data.length; i++) data[i] = 3 + r.nextInt(7);
+        }
+
+        int[] tamanhos = {500, 1500, 3000, 4000, 4898};
+        int repeticoes = 50;
+
+        try (FileWriter writer = new FileWriter("CSV/resultados_baixa_cardinalidade.csv")) {
+            writer.write("tamanho," +
+                         "medio_quick_t,medio_quick_m," +
+                         "medio_quick3_t,medio_quick3_m," +
+                         "medio_smart_t,medio_smart_m," +
+                         "medio_smart3_t,medio_smart3_m\n");
+
+            for (int n : tamanhos) {
+                if (n > data.length) continue;
+
+                System.out.println("\n=== Baixa cardinalidade: N = " + n + " ===");
+
+                double[] arrayBase = Arrays.copyOfRange(data, 0, n);
+                double[] arraySorted = arrayBase.clone();
+                sortArray(arraySorted);
+
+                double[] quick = executarCenario(arrayBase, arraySorted, repeticoes, "MEDIO_QUICK_SHUFFLED");
+                double[] quick3 = executarCenario(arrayBase, arraySorted, repeticoes, "MEDIO_QUICK_3WAY_SHUFFLED");
+                double[] smart = executarCenario(arrayBase, arraySorted, repeticoes, "MEDIO_SMART_SHUFFLED");
+                double[] smart3 = executarCenario(arrayBase, arraySorted, repeticoes, "MEDIO_SMART_3WAY_SHUFFLED");
+
+                System.out.printf("Tempo: Quick=%.2fms | Quick3=%.2fms | Smart=%.2fms | Smart3=%.2fms%n",
+                    quick[0], quick3[0], smart[0], smart3[0]);
+
+                writer.write(String.format(java.util.Locale.US,
+                    "%d,%.4f,%.0f,%.4f,%.0f,%.4f,%.0f,%.4f,%.0f%n",
+                    n, quick[0], quick[1], quick3[0], quick3[1], smart[0], smart[1], smart3[0], smart3[1]));
+            }
+            System.out.println("\n✅ Benchmark de baixa cardinalidade salvo em CSV/resultados_baixa_cardinalidade.csv");
+
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    // =======================================================
+    // BENCHMARK DE INSERÇÃO CONTÍNUA (LOTES)
+    // =======================================================
+
+    /**
+     * Simula um fluxo de lotes de novos valores e compara duas abordagens:
+     * - reordenar o array inteiro com o SmartSort a cada lote;
+     * - manter uma {@link SortedColumn} (ordena só o lote e mescla por níveis).
+     * Após cada lote é feita uma consulta de posto, como faria um dashboard.
+     */
+    private static void executarBenchmarkInsercao(int total, int lote) {
+        Random r = new Random(42);
+        double[] fluxo = new double[total];
+        for (int i = 0; i < total; i++) fluxo[i] = r.nextDouble() * 100;
+
+        System.out.println("=== Inserção contínua: " + total + " valores em lotes de " + lote + " ===");
+
+        // 1. Reordenação completa a cada lote
+        long inicio = System.nanoTime();
+        double[] coluna = new double[0];
+        for (int i = 0; i < total; i += lote) {
+            int fim = Math.min(total, i + lote);
+            int tamanhoAnterior = coluna.length;
+            coluna = Arrays.copyOf(coluna, fim);
+            System.arraycopy(fluxo, i, coluna, tamanhoAnterior, fim - i);
+            SmartSort.sort(coluna);
+            Arrays.binarySearch(coluna, 50.0);
+        }
+        double tempoReordenar = (System.nanoTime() - inicio) / 1_000_000.0;
+
+        // 2. Coluna incremental
+        inicio = System.nanoTime();
+        SortedColumn incremental = new SortedColumn(lote);
+        for (int i = 0; i < total; i += lote) {
+            int fim = Math.min(total, i + lote);
+            for (int j = i; j < fim; j++) incremental.add(fluxo[j]);
+            incremental.rank(50.0);
+        }
+        double tempoIncremental = (System.nanoTime() - inicio) / 1_000_000.0;
+
+        int lotes = (total + lote - 1) / lote;
+        System.out.printf("Reordenar tudo: %.2fms (%.4fms/lote)%n", tempoReordenar, tempoReordenar / lotes);
+        System.out.printf("SortedColumn:   %.2fms (%.4fms/lote) | speedup=%.2fx%n",
+            tempoIncremental, tempoIncremental / lotes, tempoReordenar / tempoIncremental);
+
+        try (FileWriter writer = new FileWriter("CSV/resultados_insercao.csv")) {
+            writer.write("abordagem,total,lote,tempo_total_ms,tempo_por_lote_ms\n");
+            writer.write(String.format(java.util.Locale.US, "reordenar,%d,%d,%.4f,%.4f%n",
+                total, lote, tempoReordenar, tempoReordenar / lotes));
+            writer.write(String.format(java.util.Locale.US, "incremental,%d,%d,%.4f,%.4f%n",
+                total, lote, tempoIncremental, tempoIncremental / lotes));
+            System.out.println("\n✅ Benchmark de inserção salvo em CSV/resultados_insercao.csv");
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    // =======================================================
+    // BENCHMARK PARALELO (FORK/JOIN)
+    // =======================================================
+
+    /**
+     * Mede o tempo médio (ms) do SmartSort sobre cópias de arrayBase.
+     * Com pool nulo usa a versão sequencial; caso contrário, a versão paralela no pool informado.
+     * A primeira execução é descartada (aquecimento do JIT).
+     */
+    private static double medirSmartSort(double[] arrayBase, ForkJoinPool pool, int repeticoes) {
+        double somaTempo = 0;
+        for (int i = 0; i <= repeticoes; i++) {
+            double[] arrayTeste = arrayBase.clone();
+            long startTime = System.nanoTime();
+            if (pool == null) {
+                SmartSort.sort(arrayTeste);
+            } else {
+                SmartSort.parallelSort(arrayTeste, pool, SmartSort.DEFAULT_SEQUENTIAL_CUTOFF);
+            }
+            long endTime = System.nanoTime();
+            if (i > 0) somaTempo += (endTime - startTime) / 1_000_000.0;
+        }
+        return somaTempo / repeticoes;
+    }
+
+    /**
+     * Compara o SmartSort sequencial com o paralelo em diferentes quantidades de núcleos
+     * (1, 2, 4, ... até o número de processadores disponíveis).
+     */
+    private static void executarBenchmarkParalelo(int n) {
+        double[] arrayBase = new double[n];
+        Random r = new Random(42);
+        for (int i = 0; i < n; i++) arrayBase[i] = r.nextDouble() * 100;
+
+        int maxNucleos = Runtime.getRuntime().availableProcessors();
+        int repeticoes = 5;
+
+        System.out.println("=== SmartSort paralelo: N = " + n + " | núcleos disponíveis = " + maxNucleos + " ===");
+
+        try (FileWriter writer = new FileWriter("CSV/resultados_paralelo.csv")) {
+            writer.write("modo,nucleos,tempo_ms,speedup\n");
+
+            double tempoSequencial = medirSmartSort(arrayBase, null, repeticoes);
+            System.out.printf("Sequencial: %.2fms%n", tempoSequencial);
+            writer.write(String.format(java.util.Locale.US, "sequencial,1,%.4f,%.4f%n", tempoSequencial, 1.0));
+
+            for (int nucleos = 1; nucleos <= maxNucleos; nucleos = (nucleos == maxNucleos) ? nucleos + 1 : Math.min(nucleos * 2, maxNucleos)) {
+                ForkJoinPool pool = new ForkJoinPool(nucleos);
+                try {
+                    double tempo = medirSmartSort(arrayBase, pool, repeticoes);
+                    System.out.printf("Paralelo (%d núcleos): %.2fms | speedup=%.2fx%n", nucleos, tempo, tempoSequencial / tempo);
+                    writer.write(String.format(java.util.Locale.US, "paralelo,%d,%.4f,%.4f%n", nucleos, tempo, tempoSequencial / tempo));
+                } finally {
+                    pool.shutdown();
+                }
+            }
+            System.out.println("\n✅ Benchmark paralelo salvo em CSV/resultados_paralelo.csv");
+
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    // =======================================================
+    // MÉTRICAS INTERNAS (COMPARAÇÕES, TROCAS, PROFUNDIDADE)
+    // =======================================================
+
+    /**
+     * Executa cada algoritmo em cada cenário e grava, ao lado de tempo e memória, as métricas
+     * do {@link SortMetrics}: partições, comparações, trocas, profundidade máxima, fallbacks
+     * e bytes de área auxiliar. Exige a JVM iniciada com -Dsmartsort.metrics=true.
+     */
+    private static void executarBenchmarkMetricas() {
+        if (!SortMetrics.ENABLED) {
+            System.out.println("Métricas desligadas. Execute com: java -Dsmartsort.metrics=true App metricas");
+            return;
+        }
+
+        String filePath = "CSV/winequality-white.csv";
+        int columnIndex = 10;
+        double[] data = DatasetLoader.loadColumn(filePath, columnIndex);
+        if (data.length == 0) {
+            System.out.println("Aviso: CSV não encontrado ou vazio. Gerando dados aleatórios para teste.");
+            data = new double[5000];
+            Random r = new Random();
+            for (int i = 0; i < data.length; i++) data[i] = r.nextDouble() * 100;
+        }
+
+        int[] tamanhos = {500, 1500, 3000, 4000, 4898};
+        String[] cenarios = {"SORTED", "SHUFFLED", "REVERSED"};
+        String[] algoritmos = {"MERGE", "QUICK", "SMART", "SMART_3WAY", "SMART_TUNED", "SMART_ADAPTIVE", "SMART_BRANCHLESS"};
+
+        try (FileWriter writer = new FileWriter("CSV/resultados_metricas.csv")) {
+            writer.write("tamanho,cenario,algoritmo,tempo_ms,memoria_b," +
+                         "particoes,comparacoes,trocas,profundidade_max,fallbacks,scratch_bytes\n");
+
+            for (int n : tamanhos) {
+                if (n > data.length) continue;
+                System.out.println("\n=== Métricas: N = " + n + " ===");
+
+                double[] arraySorted = Arrays.copyOfRange(data, 0, n);
+                sortArray(arraySorted);
+
+                for (String cenario : cenarios) {
+                    double[] arrayTeste = arraySorted.clone();
+                    if (cenario.equals("SHUFFLED")) shuffleArray(arrayTeste);
+                    if (cenario.equals("REVERSED")) reverseArray(arrayTeste);
+
+                    for (String algo : algoritmos) {
+                        // Mesma entrada para todos os algoritmos do cenário (executarTesteCompleto ordena uma cópia)
+                        double[] resultado = executarTesteCompleto(arrayTeste, algo);
+                        SortMetrics.Snapshot m = SortMetrics.last();
+
+                        System.out.printf("%-8s %-16s %8.3fms | comparações=%d trocas=%d profundidade=%d fallbacks=%d%n",
+                            cenario, algo, resultado[0], m.comparisons, m.swaps, m.maxDepth, m.fallbacks);
+                        writer.write(String.format(java.util.Locale.US, "%d,%s,%s,%.4f,%.0f,%d,%d,%d,%d,%d,%d%n",
+                            n, cenario, algo, resultado[0], resultado[1],
+                            m.partitions, m.comparisons, m.swaps, m.maxDepth, m.fallbacks, m.scratchBytes));
+                    }
+                }
+            }
+            System.out.println("\n✅ Métricas salvas em CSV/resultados_metricas.csv");
+
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    // =======================================================
+    // BENCHMARK DO CACHE DE COLUNAS ORDENADAS
+    // =======================================================
+
+    /**
+     * Simula um dashboard que pede a mesma coluna ordenada várias vezes e compara
+     * carregar + ordenar a cada pedido com o {@link SortCache}.
+     */
+    private static void executarBenchmarkCache(int requisicoes) {
+        String filePath = "CSV/winequality-white.csv";
+        int columnIndex = 10;
+        SortCache cache = new SortCache();
+
+        System.out.println("=== Cache de colunas ordenadas: " + requisicoes + " pedidos ===");
+
+        try (FileWriter writer = new FileWriter("CSV/resultados_cache.csv")) {
+            writer.write("modo,requisicoes,tempo_total_ms,tempo_medio_ms,hits,misses\n");
+
+            // 1. Sem cache: lê e ordena a cada pedido
+            long startTime = System.nanoTime();
+            for (int i = 0; i < requisicoes; i++) {
+                double[] coluna = MappedDatasetLoader.loadColumn(filePath, columnIndex);
+                SmartSort.sortAdaptive(coluna);
+            }
+            double semCache = (System.nanoTime() - startTime) / 1_000_000.0;
+
+            // 2. Com cache: só o primeiro pedido lê e ordena
+            startTime = System.nanoTime();
+            for (int i = 0; i < requisicoes; i++) {
+                cache.sortedColumn(filePath, columnIndex);
+            }
+            double comCache = (System.nanoTime() - startTime) / 1_000_000.0;
+
+            System.out.printf("Sem cache: %.2fms | Com cache: %.2fms | hits=%d misses=%d%n",
+                semCache, comCache, cache.hits(), cache.misses());
+            writer.write(String.format(java.util.Locale.US, "sem_cache,%d,%.4f,%.4f,0,%d%n",
+                requisicoes, semCache, semCache / requisicoes, requisicoes));
+            writer.write(String.format(java.util.Locale.US, "com_cache,%d,%.4f,%.4f,%d,%d%n",
+                requisicoes, comCache, comCache / requisicoes, cache.hits(), cache.misses()));
+            System.out.println("\n✅ Benchmark do cache salvo em CSV/resultados_cache.csv");
+
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    // =======================================================
+    // BENCHMARK DO SERVIÇO DE ORDENAÇÃO EM LOTES
+    // =======================================================
+
+    /**
+     * Gerador de carga: 'clientes' threads enviam pedidos em laço fechado (envia, espera a
+     * resposta, envia o próximo), cada um com 200 a 5.000 valores aleatórios, a faixa de
+     * tamanhos do benchmark principal. Compara um pedido = uma tarefa em um pool de threads
+     * com o {@link BatchSortService} e grava vazão, falhas e latências p50/p99 em
+     * CSV/resultados_servico.csv. Cada modo é aquecido pelo seu próprio caminho (mesmo envio,
+     * carga menor e descartada) logo antes de ser medido, para que nenhum dos dois herde o JIT
+     * do outro.
+     */
+    private static void executarBenchmarkServico(int requisicoes, int clientes) {
+        int nucleos = Runtime.getRuntime().availableProcessors();
+        System.out.println("=== Serviço de ordenação: " + requisicoes + " pedidos, " + clientes + " clientes ===");
+
+        try (FileWriter writer = new FileWriter("CSV/resultados_servico.csv")) {
+            writer.write("modo,requisicoes,clientes,falhas,req_por_s,p50_ms,p99_ms\n");
+            int aquecimento = Math.min(requisicoes, 5_000);
+
+            // 1. Um pedido por tarefa em um pool fixo de threads, com o mesmo ordenador do serviço
+            ExecutorService pool = Executors.newFixedThreadPool(nucleos);
+            try {
+                EnvioPedido porTarefa =
+                    values -> CompletableFuture.runAsync(() -> BatchSortService.sortRequest(values), pool);
+                gerarCarga(aquecimento, clientes, porTarefa);
+                registrarServico(writer, "por_tarefa", requisicoes, clientes, gerarCarga(requisicoes, clientes, porTarefa));
+            } finally {
+                pool.shutdown();
+            }
+
+            // 2. Serviço em lotes (fila limitada + drainTo + pool Fork/Join)
+            try (BatchSortService service = new BatchSortService()) {
+                gerarCarga(aquecimento, clientes, service::submit);
+                registrarServico(writer, "em_lotes", requisicoes, clientes, gerarCarga(requisicoes, clientes, service::submit));
+            }
+            System.out.println("\n✅ Benchmark do serviço salvo em CSV/resultados_servico.csv");
+
+        } catch (IOException | InterruptedException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Envio de um pedido (pool de threads ou serviço em lotes).
+     */
+    private interface EnvioPedido {
+        CompletableFuture<?> enviar(double[] values) throws InterruptedException;
+    }
+
+    /**
+     * Executa a carga e retorna [pedidos concluídos por segundo, p50 (ms), p99 (ms), falhas].
+     * Só pedidos concluídos entram na vazão e nos percentis; um pedido que falha (recusado no
+     * envio ou concluído com exceção) é contado, a primeira causa é impressa e o cliente segue
+     * para o próximo. Um cliente interrompido para, e os pedidos que não enviou também contam
+     * como falha.
+     */
+    private static double[] gerarCarga(int requisicoes, int clientes, EnvioPedido envio) throws InterruptedException {
+        double[] latencias = new double[requisicoes];
+        Arrays.fill(latencias, Double.NaN); // NaN = pedido não concluído
+        AtomicReference<Throwable> primeiraFalha = new AtomicReference<>();
+        Thread[] threads = new Thread[clientes];
+        long inicio = System.nanoTime();
+        for (int c = 0; c < clientes; c++) {
+            int cliente = c;
+            threads[c] = new Thread(() -> {
+                Random r = new Random(cliente);
+                // Cada cliente atende os pedidos cliente, cliente + clientes, ...
+                for (int i = cliente; i < requisicoes; i += clientes) {
+                    double[] values = new double[200 + r.nextInt(4801)];
+                    for (int j = 0; j < values.length; j++) values[j] = r.nextDouble();
+                    long t0 = System.nanoTime();
+                    try {
+                        envio.enviar(values).join();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    } catch (RuntimeException e) {
+                        // CompletionException/CancellationException do join ou recusa no envio
+                        primeiraFalha.compareAndSet(null, e instanceof CompletionException ? e.getCause() : e);
+                        continue;
+                    }
+                    latencias[i] = (System.nanoTime() - t0) / 1_000_000.0;
+                }
+            });
+            threads[c].start();
+        }
+        for (Thread t : threads) t.join();
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        double[] concluidas = Arrays.stream(latencias).filter(l -> !Double.isNaN(l)).toArray();
+        int falhas = requisicoes - concluidas.length;
+        if (falhas > 0) {
+            System.err.println("  " + falhas + " de " + requisicoes + " pedidos não concluídos"
+                + (primeiraFalha.get() != null ? "; primeira falha: " + primeiraFalha.get() : " (cliente interrompido)"));
+        }
+        if (concluidas.length == 0) {
+            return new double[]{0, Double.NaN, Double.NaN, falhas};
+        }
+        double[] percentis = QuickSelect.quantiles(concluidas, 0.5, 0.99);
+        return new double[]{concluidas.length / segundos, percentis[0], percentis[1], falhas};
+    }
+
+    private static void registrarServico(FileWriter writer, String modo, int requisicoes, int clientes,
+                                         double[] resultado) throws IOException {
+        System.out.printf("%-10s %10.0f req/s | p50=%.3fms | p99=%.3fms | falhas=%d%n",
+            modo, resultado[0], resultado[1], resultado[2], (int) resultado[3]);
+        writer.write(String.format(java.util.Locale.US, "%s,%d,%d,%d,%.1f,%.4f,%.4f%n",
+            modo, requisicoes, clientes, (int) resultado[3], resultado[0], resultado[1], resultado[2]));
+    }
+
     // =======================================================
     // MAIN
     // =======================================================
     
+    /**
+     * Sem argumentos (ou "benchmark [opções]") executa o benchmark completo (Tempo+Memória)
+     * via {@link SortBenchmark}, com forks e aquecimento; as opções são as do SortBenchmark
+     * (ex.: "benchmark --sizes 500,4898,1000000,10000000").
+     * Modos extras:
+     * - "legado": o laço de medição original, sem aquecimento.
+     * - "cardinalidade": Lomuto vs três vias na coluna "quality" (poucos valores distintos).
+     * - "insercao [total] [lote]": reordenar a cada lote vs SortedColumn (padrão 200.000 em lotes de 1.000).
+     * - "paralelo [n]": SmartSort sequencial vs paralelo em 1..N núcleos (padrão n = 10.000.000).
+     * - "metricas": comparações, trocas, profundidade e fallbacks de cada algoritmo
+     *   (requer -Dsmartsort.metrics=true).
+     * - "cache [pedidos]": pedidos repetidos da mesma coluna ordenada, sem e com SortCache (padrão 200).
+     * - "workloads [opções]": todos os algoritmos em cargas sintéticas e adversárias (ver
+     *   {@link WorkloadBenchmark}, ex.: "workloads --sizes 1000000 --workers 4").
+     * - "servico [pedidos] [clientes]": um pedido por tarefa vs BatchSortService, com
+     *   vazão e latências p50/p99 (padrão 50.000 pedidos e 64 clientes).
+     */
     public static void main(String[] args) {
+        if (args.length == 0 || args[0].equals("benchmark")) {
+            // Benchmark principal: forks, aquecimento e alocação por operação (ver SortBenchmark)
+            try {
+                String[] opcoes = args.length == 0 ? args : Arrays.copyOfRange(args, 1, args.length);
+                SortBenchmark.run(SortBenchmark.parseArgs(opcoes));
+            } catch (IOException | InterruptedException e) {
+                e.printStackTrace();
+            }
+            return;
+        }
+
+        switch (args[0]) {
+            case "legado":
+                executarBenchmarkLegado();
+                break;
+            case "cardinalidade":
+                executarBenchmarkBaixaCardinalidade();
+                break;
+            case "insercao":
+                executarBenchmarkInsercao(
+                    args.length > 1 ? Integer.parseInt(args[1]) : 200_000,
+                    args.length > 2 ? Integer.parseInt(args[2]) : 1_000);
+                break;
+            case "paralelo":
+                executarBenchmarkParalelo(args.length > 1 ? Integer.parseInt(args[1]) : 10_000_000);
+                break;
+            case "metricas":
+                executarBenchmarkMetricas();
+                break;
+            case "cache":
+                executarBenchmarkCache(args.length > 1 ? Integer.parseInt(args[1]) : 200);
+                break;
+            case "servico":
+                executarBenchmarkServico(
+                    args.length > 1 ? Integer.parseInt(args[1]) : 50_000,
+                    args.length > 2 ? Integer.parseInt(args[2]) : 64);
+                break;
+            case "workloads":
+                try {
+                    WorkloadBenchmark.run(WorkloadBenchmark.parseArgs(Arrays.copyOfRange(args, 1, args.length)));
+                } catch (IOException | InterruptedException e) {
+                    e.printStackTrace();
+                }
+                break;
+            default:
+                System.out.println("Modo desconhecido: " + args[0]);
+        }
+    }
+
+    /**
+     * Benchmark original (uma medição por repetição, sem aquecimento).
+     * Mantido apenas para comparação com os resultados antigos.
+     */
+    private static void executarBenchmarkLegado() {
         String filePath = "CSV/winequality-white.csv";
         int columnIndex = 10;
 
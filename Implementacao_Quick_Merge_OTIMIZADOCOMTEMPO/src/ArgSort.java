@@ -0,0 +1,169 @@
+/**
+ * Ordenação indireta (argsort): em vez de mover os valores, devolve a permutação
+ * de índices que ordena as linhas.
+ * * **Chave composta:** As colunas são comparadas em ordem de prioridade (ex.: primeiro
+ * "quality", depois "alcohol"); a próxima coluna só desempata a anterior.
+ * * **Estável:** Linhas com chaves iguais mantêm a ordem original (Merge Sort sobre os índices).
+ * * **Sem boxing:** Trabalha com int[] e double[] primitivos, sem Integer[] nem Comparator.
+ * A permutação pode ser aplicada a qualquer outra coluna com {@link #permute(double[], int[])}.
+ */
+public class ArgSort {
+
+    // Abaixo deste tamanho os índices são ordenados por Insertion Sort (também estável)
+    private static final int INSERTION_THRESHOLD = 24;
+
+    /**
+     * Calcula a permutação que ordena as linhas pelas colunas-chave.
+     * A ordem dos valores é a de {@link Double#compare(double, double)} (-0.0 antes de 0.0, NaN no fim).
+     * @param keys As colunas-chave, da mais para a menos prioritária. Todas com o mesmo tamanho.
+     * @return perm, tal que a linha perm[0] é a primeira na ordem, perm[1] a segunda, etc.
+     */
+    public static int[] argsort(double[]... keys) {
+        if (keys.length == 0) {
+            throw new IllegalArgumentException("Informe ao menos uma coluna-chave");
+        }
+        int n = keys[0].length;
+        for (double[] key : keys) {
+            if (key.length != n) {
+                throw new IllegalArgumentException("Colunas com tamanhos diferentes: " + n + " e " + key.length);
+            }
+        }
+
+        int[] perm = new int[n];
+        for (int i = 0; i < n; i++) perm[i] = i;
+        if (n < 2) return perm;
+
+        // Mesma estratégia "ping-pong" do MergeSort: um único buffer para toda a ordenação
+        int[] buffer = perm.clone();
+        sortInto(keys, buffer, perm, 0, n - 1);
+        return perm;
+    }
+
+    /**
+     * Calcula a permutação estável que ordena uma coluna long (ex.: timestamps).
+     * Versão especializada para long[], sem conversão para double (que perderia precisão acima de 2^53).
+     */
+    public static int[] argsort(long[] key) {
+        int n = key.length;
+        int[] perm = new int[n];
+        for (int i = 0; i < n; i++) perm[i] = i;
+        if (n < 2) return perm;
+
+        int[] buffer = perm.clone();
+        sortInto(key, buffer, perm, 0, n - 1);
+        return perm;
+    }
+
+    /**
+     * Aplica a permutação a uma coluna: result[i] = column[perm[i]].
+     */
+    public static double[] permute(double[] column, int[] perm) {
+        double[] result = new double[perm.length];
+        for (int i = 0; i < perm.length; i++) {
+            result[i] = column[perm[i]];
+        }
+        return result;
+    }
+
+    /**
+     * Ordena os índices de [left..right] deixando o resultado em dst (src é a área de trabalho).
+     * Pré-condição: src e dst têm os mesmos índices no intervalo.
+     */
+    private static void sortInto(double[][] keys, int[] src, int[] dst, int left, int right) {
+        if (right - left < INSERTION_THRESHOLD) {
+            insertionSort(keys, dst, left, right);
+            return;
+        }
+
+        int middle = left + (right - left) / 2;
+        sortInto(keys, dst, src, left, middle);
+        sortInto(keys, dst, src, middle + 1, right);
+
+        // Metades já em ordem: basta copiar
+        if (compare(keys, src[middle], src[middle + 1]) <= 0) {
+            System.arraycopy(src, left, dst, left, right - left + 1);
+            return;
+        }
+
+        int i = left;
+        int j = middle + 1;
+        int k = left;
+        while (i <= middle && j <= right) {
+            // Empate: o índice da esquerda vem primeiro (estabilidade)
+            if (compare(keys, src[i], src[j]) <= 0) {
+                dst[k++] = src[i++];
+            } else {
+                dst[k++] = src[j++];
+            }
+        }
+        if (i <= middle) System.arraycopy(src, i, dst, k, middle - i + 1);
+        if (j <= right) System.arraycopy(src, j, dst, k, right - j + 1);
+    }
+
+    /**
+     * Insertion Sort estável sobre os índices (só desloca quando estritamente maior).
+     */
+    private static void insertionSort(double[][] keys, int[] idx, int left, int right) {
+        for (int i = left + 1; i <= right; i++) {
+            int value = idx[i];
+            int j = i - 1;
+            while (j >= left && compare(keys, idx[j], value) > 0) {
+                idx[j + 1] = idx[j];
+                j--;
+            }
+            idx[j + 1] = value;
+        }
+    }
+
+    /**
+     * Mesmo Merge Sort de índices de {@link #sortInto(double[][], int[], int[], int, int)},
+     * especializado para uma chave long.
+     */
+    private static void sortInto(long[] key, int[] src, int[] dst, int left, int right) {
+        if (right - left < INSERTION_THRESHOLD) {
+            for (int i = left + 1; i <= right; i++) {
+                int value = dst[i];
+                int j = i - 1;
+                while (j >= left && key[dst[j]] > key[value]) {
+                    dst[j + 1] = dst[j];
+                    j--;
+                }
+                dst[j + 1] = value;
+            }
+            return;
+        }
+
+        int middle = left + (right - left) / 2;
+        sortInto(key, dst, src, left, middle);
+        sortInto(key, dst, src, middle + 1, right);
+
+        if (key[src[middle]] <= key[src[middle + 1]]) {
+            System.arraycopy(src, left, dst, left, right - left + 1);
+            return;
+        }
+
+        int i = left;
+        int j = middle + 1;
+        int k = left;
+        while (i <= middle && j <= right) {
+            if (key[src[i]] <= key[src[j]]) {
+                dst[k++] = src[i++];
+            } else {
+                dst[k++] = src[j++];
+            }
+        }
+        if (i <= middle) System.arraycopy(src, i, dst, k, middle - i + 1);
+        if (j <= right) System.arraycopy(src, j, dst, k, right - j + 1);
+    }
+
+    /**
+     * Compara as linhas a e b coluna por coluna, até encontrar uma diferença.
+     */
+    private static int compare(double[][] keys, int a, int b) {
+        for (double[] key : keys) {
+            int c = Double.compare(key[a], key[b]);
+            if (c != 0) return c;
+        }
+        return 0;
+    }
+}
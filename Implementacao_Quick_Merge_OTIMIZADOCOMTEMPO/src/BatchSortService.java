@@ -0,0 +1,188 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Serviço de ordenação para muitos pedidos pequenos e independentes.
+ * * **Fila limitada:** Os pedidos entram em uma fila de capacidade fixa; com a fila cheia,
+ * {@link #submit(double[])} bloqueia o chamador (contrapressão em vez de memória ilimitada).
+ * * **Lotes:** Uma thread despachante retira da fila tudo o que estiver disponível (até
+ * maxBatchSize pedidos de uma vez, com drainTo) e entrega o lote inteiro como uma única tarefa
+ * ao executor. O custo de agendamento é pago por lote, não por pedido, e a thread que processa
+ * o lote mantém o código e os buffers quentes na cache.
+ * * **Ordenação:** Cada pedido é ordenado pelo modo adaptativo do SmartSort (Insertion Sort
+ * nas folhas pequenas, mesclagem natural em pedidos já ordenados).
+ * * **Encerramento:** submit() verifica o estado e enfileira sob a trava de leitura; close()
+ * marca o encerramento sob a trava de escrita. Assim nenhum pedido entra na fila depois do
+ * marcador de fim, e todo pedido aceito é atendido.
+ * * **Executor:** Por padrão o pool comum do Fork/Join (roubo de trabalho entre threads).
+ */
+public class BatchSortService implements AutoCloseable {
+
+    /** Capacidade padrão da fila de pedidos. */
+    public static final int DEFAULT_QUEUE_CAPACITY = 10_000;
+
+    /** Quantidade máxima padrão de pedidos por lote. */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 64;
+
+    // Marcador de fim colocado na fila por close()
+    private static final Request SHUTDOWN = new Request(new double[0]);
+
+    private final BlockingQueue<Request> queue;
+    private final int maxBatchSize;
+    private final Executor executor;
+    private final Thread dispatcher;
+    // Leitura: submit (verifica e enfileira); escrita: close (marca o encerramento)
+    private final ReentrantReadWriteLock lifecycle = new ReentrantReadWriteLock();
+    private boolean closed;  // protegido por lifecycle
+
+    /**
+     * Cria o serviço com a fila, o tamanho de lote e o executor padrão.
+     */
+    public BatchSortService() {
+        this(DEFAULT_QUEUE_CAPACITY, DEFAULT_MAX_BATCH_SIZE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Cria o serviço e inicia a thread despachante.
+     * @param queueCapacity Quantos pedidos podem aguardar na fila.
+     * @param maxBatchSize Máximo de pedidos entregues ao executor em uma única tarefa.
+     * @param executor Onde os lotes são ordenados (não é encerrado por close()).
+     */
+    public BatchSortService(int queueCapacity, int maxBatchSize, Executor executor) {
+        if (queueCapacity < 1 || maxBatchSize < 1) {
+            throw new IllegalArgumentException("Capacidade da fila e tamanho do lote devem ser >= 1");
+        }
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.executor = executor;
+        this.dispatcher = new Thread(this::dispatch, "batch-sort-dispatcher");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    /**
+     * Enfileira um pedido. O array é ordenado no próprio lugar e o futuro é completado com ele.
+     * Bloqueia enquanto a fila estiver cheia.
+     * @throws IllegalStateException Se o serviço já foi encerrado.
+     */
+    public CompletableFuture<double[]> submit(double[] values) throws InterruptedException {
+        Request request = new Request(values);
+        lifecycle.readLock().lockInterruptibly();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Serviço encerrado");
+            }
+            queue.put(request);
+        } finally {
+            lifecycle.readLock().unlock();
+        }
+        return request.future;
+    }
+
+    /**
+     * Ordena um pedido (mesmo ordenador usado pelo benchmark para comparar com um pool comum).
+     */
+    static void sortRequest(double[] values) {
+        SmartSort.sortAdaptive(values);
+    }
+
+    /**
+     * Laço da thread despachante: espera o primeiro pedido, junta os que já estão na fila
+     * e entrega o lote ao executor.
+     */
+    private void dispatch() {
+        List<Request> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (true) {
+                batch.add(queue.take());
+                queue.drainTo(batch, maxBatchSize - 1);
+
+                int end = batch.indexOf(SHUTDOWN);
+                if (end >= 0) {
+                    // Pedidos anteriores ao marcador ainda são atendidos
+                    submitBatch(new ArrayList<>(batch.subList(0, end)));
+                    rejectRemaining(batch.subList(end + 1, batch.size()));
+                    return;
+                }
+                submitBatch(new ArrayList<>(batch));
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            rejectRemaining(batch);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void submitBatch(List<Request> batch) {
+        if (batch.isEmpty()) return;
+        try {
+            executor.execute(() -> {
+                for (Request request : batch) {
+                    try {
+                        sortRequest(request.values);
+                        request.future.complete(request.values);
+                    } catch (RuntimeException e) {
+                        request.future.completeExceptionally(e);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            for (Request request : batch) request.future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Completa com erro os pedidos que não serão atendidos (inclusive os que ainda estão na fila).
+     */
+    private void rejectRemaining(List<Request> pending) {
+        List<Request> remaining = new ArrayList<>(pending);
+        queue.drainTo(remaining);
+        for (Request request : remaining) {
+            if (request != SHUTDOWN) {
+                request.future.completeExceptionally(new RejectedExecutionException("Serviço encerrado"));
+            }
+        }
+    }
+
+    /**
+     * Para de aceitar pedidos, atende os que já estavam na fila e encerra a thread despachante.
+     * Não espera os lotes em execução terminarem (use os futuros para isso).
+     */
+    @Override
+    public void close() {
+        // Espera os submit() em andamento terminarem de enfileirar antes de marcar o fim
+        lifecycle.writeLock().lock();
+        try {
+            if (closed) return;
+            closed = true;
+        } finally {
+            lifecycle.writeLock().unlock();
+        }
+        try {
+            queue.put(SHUTDOWN);
+            dispatcher.join();
+        } catch (InterruptedException e) {
+            dispatcher.interrupt();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Um pedido: o array a ordenar e o futuro que será completado com ele.
+     */
+    private static final class Request {
+        final double[] values;
+        final CompletableFuture<double[]> future = new CompletableFuture<>();
+
+        Request(double[] values) {
+            this.values = values;
+        }
+    }
+}
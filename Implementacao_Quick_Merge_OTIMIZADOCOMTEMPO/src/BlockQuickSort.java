@@ -0,0 +1,187 @@
+/**
+ * Quick Sort com partição em blocos sem desvios (BlockQuicksort, Edelkamp e Weiß).
+ * * **Problema:** Na partição clássica, cada comparação decide um desvio condicional; em
+ * dados aleatórios o processador erra a previsão em metade das vezes e descarta o pipeline.
+ * * **Partição em blocos:** Um bloco de BLOCK_SIZE elementos de cada ponta é varrido
+ * registrando as posições fora do lugar em um buffer de deslocamentos. O contador avança
+ * pelo resultado da comparação (0 ou 1) em vez de um if, então o laço não tem desvio
+ * dependente dos dados. Em seguida as posições registradas dos dois lados são trocadas aos pares.
+ * * **Folhas:** Subarrays pequenos são ordenados por uma rede de ordenação (merge-exchange
+ * de Batcher), cuja sequência de comparações é fixa e cujas trocas são condicionais
+ * sem desvio (cmov).
+ * * **Sem Vector API:** Uma varredura com jdk.incubator.vector foi testada no JDK 17 (AVX-512)
+ * e descartada: sem compress-store, converter a máscara da comparação em deslocamentos custa
+ * quase tudo o que a comparação vetorial economiza, e a ordenação completa ficou ~10% mais
+ * lenta. A varredura e as redes das folhas são escalares.
+ * * **Demais detalhes:** Pivô, limite de profundidade e fallback para Heap Sort iguais
+ * aos do modo ajustado do SmartSort.
+ */
+public class BlockQuickSort {
+
+    // Elementos varridos por bloco em cada ponta (cabe folgado na cache L1)
+    private static final int BLOCK_SIZE = 64;
+
+    // Subarrays deste tamanho ou menores vão para a rede de ordenação
+    private static final int NETWORK_THRESHOLD = 16;
+
+    /**
+     * Ordena o array inteiro.
+     */
+    public static void sort(double[] arr) {
+        sort(arr, 0, arr.length - 1);
+    }
+
+    /**
+     * Ordena arr[low..high].
+     */
+    public static void sort(double[] arr, int low, int high) {
+        if (high <= low) return;
+        int[] offsetsLeft = new int[BLOCK_SIZE];
+        int[] offsetsRight = new int[BLOCK_SIZE];
+        if (SortMetrics.ENABLED) SortMetrics.begin("BLOCK_QUICK", high - low + 1);
+        try {
+            SmartSort.sortInTotalOrder(arr, low, high, (a, lo, hi) ->
+                    introSort(a, lo, hi, 0, SmartSort.depthLimit(hi - lo + 1), offsetsLeft, offsetsRight));
+        } finally {
+            if (SortMetrics.ENABLED) SortMetrics.end();
+        }
+    }
+
+    private static void introSort(double[] arr, int low, int high, int depth, int depthLimit,
+                                  int[] offsetsLeft, int[] offsetsRight) {
+        while (high - low + 1 > NETWORK_THRESHOLD) {
+            if (depth > depthLimit) {
+                if (SortMetrics.ENABLED) SortMetrics.fallback();
+                HeapSort.sort(arr, low, high);
+                return;
+            }
+            if (SortMetrics.ENABLED) SortMetrics.depth(depth);
+            depth++;
+
+            swap(arr, low, SmartSort.choosePivot(arr, low, high));
+            int pi = blockPartition(arr, low, high, offsetsLeft, offsetsRight);
+
+            // Recursão na partição menor, laço na maior (pilha O(log n))
+            if (pi - low < high - pi) {
+                introSort(arr, low, pi - 1, depth, depthLimit, offsetsLeft, offsetsRight);
+                low = pi + 1;
+            } else {
+                introSort(arr, pi + 1, high, depth, depthLimit, offsetsLeft, offsetsRight);
+                high = pi - 1;
+            }
+        }
+        sortingNetwork(arr, low, high - low + 1);
+    }
+
+    /**
+     * Partição com o pivô em arr[low], no mesmo contrato da partição de Hoare do SmartSort:
+     * elementos iguais ao pivô podem ir para qualquer lado, o que divide bem chaves repetidas.
+     * @return A posição final do pivô: arr[low..p-1] <= arr[p] <= arr[p+1..high].
+     */
+    static int blockPartition(double[] arr, int low, int high, int[] offsetsLeft, int[] offsetsRight) {
+        double pivot = arr[low];
+        int left = low + 1;   // Início do bloco esquerdo (tudo antes dele é <= pivô)
+        int right = high;     // Fim do bloco direito (tudo depois dele é >= pivô)
+        int startLeft = 0;
+        int countLeft = 0;
+        int startRight = 0;
+        int countRight = 0;
+        int blockScans = 0;
+        int swaps = 1;
+
+        // Enquanto couberem dois blocos inteiros sem sobreposição
+        while (right - left + 1 > 2 * BLOCK_SIZE) {
+            if (countLeft == 0) {
+                startLeft = 0;
+                for (int i = 0; i < BLOCK_SIZE; i++) {
+                    offsetsLeft[countLeft] = i;
+                    countLeft += arr[left + i] >= pivot ? 1 : 0;
+                }
+                blockScans++;
+            }
+            if (countRight == 0) {
+                startRight = 0;
+                for (int i = 0; i < BLOCK_SIZE; i++) {
+                    offsetsRight[countRight] = i;
+                    countRight += arr[right - i] <= pivot ? 1 : 0;
+                }
+                blockScans++;
+            }
+
+            int count = Math.min(countLeft, countRight);
+            for (int k = 0; k < count; k++) {
+                swap(arr, left + offsetsLeft[startLeft + k], right - offsetsRight[startRight + k]);
+            }
+            countLeft -= count;
+            countRight -= count;
+            startLeft += count;
+            startRight += count;
+            swaps += count;
+
+            // Bloco sem pendências está resolvido; o outro continua no próximo passo
+            if (countLeft == 0) left += BLOCK_SIZE;
+            if (countRight == 0) right -= BLOCK_SIZE;
+        }
+
+        // Restante (menos de dois blocos): varredura de Hoare com limites explícitos
+        int i = left;
+        int j = right;
+        while (true) {
+            while (i <= j && arr[i] < pivot) i++;
+            while (i <= j && arr[j] > pivot) j--;
+            if (i >= j) break;
+            swap(arr, i++, j--);
+            swaps++;
+        }
+        // arr[j] <= pivô (ou j == low), e tudo depois de j é >= pivô
+        swap(arr, low, j);
+        // Comparações: BLOCK_SIZE por bloco varrido mais as da varredura final (estimadas
+        // pelo tamanho do restante, que cada elemento percorre ao menos uma vez)
+        if (SortMetrics.ENABLED) SortMetrics.partition((long) blockScans * BLOCK_SIZE + (right - left + 1), swaps);
+        return j;
+    }
+
+    /**
+     * Rede de ordenação merge-exchange de Batcher (Knuth, Algoritmo 5.2.2M) sobre
+     * arr[offset..offset+n-1]. Funciona para qualquer n; a sequência de pares comparados
+     * depende só de n, e cada comparação é uma troca condicional sem desvio.
+     */
+    static void sortingNetwork(double[] arr, int offset, int n) {
+        if (n < 2) return;
+        int t = 32 - Integer.numberOfLeadingZeros(n - 1);  // ceil(log2 n)
+        for (int p = 1 << (t - 1); p > 0; p >>= 1) {
+            int q = 1 << (t - 1);
+            int r = 0;
+            int d = p;
+            while (true) {
+                for (int i = 0; i < n - d; i++) {
+                    if ((i & p) == r) {
+                        compareExchange(arr, offset + i, offset + i + d);
+                    }
+                }
+                if (q == p) break;
+                d = q - p;
+                q >>= 1;
+                r = p;
+            }
+        }
+    }
+
+    /**
+     * Deixa o menor valor em arr[i] e o maior em arr[j] usando seleção (cmov) em vez de desvio.
+     * Não usa Math.min/max para não duplicar NaN nem confundir -0.0 com 0.0.
+     */
+    private static void compareExchange(double[] arr, int i, int j) {
+        double a = arr[i];
+        double b = arr[j];
+        boolean swap = b < a;
+        arr[i] = swap ? b : a;
+        arr[j] = swap ? a : b;
+    }
+
+    private static void swap(double[] arr, int i, int j) {
+        double temp = arr[i];
+        arr[i] = arr[j];
+        arr[j] = temp;
+    }
+}
\ No newline at end of file
@@ -60,4 +60,51 @@ public class DatasetLoader {
             
         return result;
     }
+
+    /**
+     * Carrega várias colunas de uma vez, preservando o alinhamento das linhas
+     * (a linha i de cada coluna retornada corresponde ao mesmo registro do CSV).
+     * Linhas em que alguma das colunas pedidas esteja ausente ou não seja numérica são descartadas
+     * por inteiro, para que as colunas continuem alinhadas. Útil com {@link ArgSort}.
+     * @param filePath O caminho completo do arquivo CSV (separador `;`).
+     * @param columnIndexes Os índices das colunas (base zero) a serem extraídas.
+     * @return Um array por coluna pedida, na mesma ordem de columnIndexes.
+     */
+    public static double[][] loadColumns(String filePath, int... columnIndexes) {
+        // Cada linha válida vira um double[] com os valores das colunas pedidas
+        List<double[]> rows = new ArrayList<>();
+
+        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
+            String line;
+
+            // Ignora o cabeçalho
+            br.readLine();
+
+            while ((line = br.readLine()) != null) {
+                String[] parts = line.split(";");
+                double[] row = new double[columnIndexes.length];
+                try {
+                    for (int c = 0; c < columnIndexes.length; c++) {
+                        row[c] = Double.parseDouble(parts[columnIndexes[c]]);
+                    }
+                    rows.add(row);
+                } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                    System.err.println("Linha ignorada (coluna ausente ou não numérica): " + line);
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("Erro ao carregar o arquivo: " + filePath);
+            e.printStackTrace();
+        }
+
+        // Transpõe as linhas para colunas
+        double[][] result = new double[columnIndexes.length][rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            double[] row = rows.get(i);
+            for (int c = 0; c < columnIndexes.length; c++) {
+                result[c][i] = row[c];
+            }
+        }
+        return result;
+    }
 }
\ No newline at end of file
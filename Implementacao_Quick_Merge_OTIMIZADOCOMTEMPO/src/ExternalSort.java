@@ -0,0 +1,345 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Ordenação externa (out-of-core) para colunas maiores que a memória disponível.
+ * * **Formato:** Arquivos binários de doubles de 8 bytes em little-endian, sem cabeçalho
+ * (use {@link #writeBinary(double[], Path)} para gerar a partir de uma coluna carregada).
+ * * **Etapas:**
+ * 1. Lê a entrada em blocos que cabem no orçamento de memória.
+ * 2. Ordena cada bloco com o SmartSort (modo ajustado, sem memória extra) e grava
+ *    o bloco ordenado ("run") em um arquivo temporário.
+ * 3. Mescla as runs (k-way merge) com um heap de leitores bufferizados, gravando a saída
+ *    em fluxo. Se houver runs demais para o orçamento, mescla em várias passadas.
+ * * **Memória:** Limitada pelo orçamento informado, independente do tamanho do arquivo.
+ * Toda a E/S usa buffers NIO grandes e leitura/escrita sequencial.
+ */
+public class ExternalSort {
+
+    /** Ordem dos bytes do formato binário. */
+    public static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    /** Orçamento de memória padrão: 256 MB. */
+    public static final long DEFAULT_MEMORY_BUDGET = 256L << 20;
+
+    // Menor orçamento aceito e menor buffer por run durante a mesclagem
+    private static final long MIN_MEMORY_BUDGET = 1L << 20;
+    private static final int MIN_MERGE_BUFFER = 64 << 10;
+
+    // Maior buffer de E/S usado na fase de geração das runs
+    private static final int MAX_IO_BUFFER = 8 << 20;
+
+    /**
+     * Ordena o arquivo de entrada com o orçamento de memória padrão.
+     */
+    public static void sort(Path input, Path output) throws IOException {
+        sort(input, output, DEFAULT_MEMORY_BUDGET);
+    }
+
+    /**
+     * Ordena o arquivo binário 'input' gravando o resultado em 'output'.
+     * Os arquivos temporários ficam em um diretório criado ao lado da saída e são removidos ao final.
+     * @param input Arquivo binário de doubles (tamanho múltiplo de 8).
+     * @param output Arquivo de saída (sobrescrito).
+     * @param memoryBudget Memória máxima em bytes para blocos e buffers.
+     */
+    public static void sort(Path input, Path output, long memoryBudget) throws IOException {
+        if (memoryBudget < MIN_MEMORY_BUDGET) {
+            throw new IllegalArgumentException("Orçamento de memória mínimo: " + MIN_MEMORY_BUDGET + " bytes");
+        }
+
+        Path parent = output.toAbsolutePath().getParent();
+        Path tempDir = Files.createTempDirectory(parent, "smartsort-runs");
+        try {
+            List<Path> runs = createRuns(input, tempDir, output, memoryBudget);
+            if (runs.isEmpty()) return; // A única run já foi gravada direto na saída
+
+            // Quantas runs cabem em uma mesclagem (um buffer por run + um para a saída)
+            int maxFanIn = (int) Math.max(2, memoryBudget / MIN_MERGE_BUFFER - 1);
+
+            // Passadas intermediárias enquanto houver runs demais
+            while (runs.size() > maxFanIn) {
+                List<Path> merged = new ArrayList<>();
+                for (int i = 0; i < runs.size(); i += maxFanIn) {
+                    List<Path> group = runs.subList(i, Math.min(i + maxFanIn, runs.size()));
+                    Path run = Files.createTempFile(tempDir, "merge", ".bin");
+                    mergeRuns(group, run, memoryBudget);
+                    for (Path p : group) Files.delete(p);
+                    merged.add(run);
+                }
+                runs = merged;
+            }
+
+            mergeRuns(runs, output, memoryBudget);
+        } finally {
+            deleteDirectory(tempDir);
+        }
+    }
+
+    /**
+     * Grava os valores no formato binário usado pela ordenação externa.
+     */
+    public static void writeBinary(double[] values, Path file) throws IOException {
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buf = ByteBuffer.allocateDirect(MAX_IO_BUFFER).order(BYTE_ORDER);
+            int i = 0;
+            while (i < values.length) {
+                buf.clear();
+                int count = Math.min(values.length - i, buf.capacity() / Double.BYTES);
+                buf.asDoubleBuffer().put(values, i, count);
+                buf.limit(count * Double.BYTES);
+                writeFully(out, buf);
+                i += count;
+            }
+        }
+    }
+
+    /**
+     * Lê um arquivo binário inteiro para a memória (útil para arquivos pequenos e conferência).
+     */
+    public static double[] readBinary(Path file) throws IOException {
+        long size = Files.size(file);
+        if (size % Double.BYTES != 0 || size / Double.BYTES > Integer.MAX_VALUE) {
+            throw new IOException("Arquivo binário inválido ou grande demais para a memória: " + file);
+        }
+        double[] values = new double[(int) (size / Double.BYTES)];
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buf = ByteBuffer.allocateDirect(MAX_IO_BUFFER).order(BYTE_ORDER);
+            int count = 0;
+            while (count < values.length) {
+                count += readChunk(in, buf, values, count, values.length - count);
+            }
+        }
+        return values;
+    }
+
+    // =======================================================
+    // FASE 1: GERAÇÃO DAS RUNS
+    // =======================================================
+
+    /**
+     * Lê a entrada em blocos, ordena cada um e grava como run temporária.
+     * Se a entrada inteira couber em um único bloco, grava direto na saída e retorna lista vazia.
+     */
+    private static List<Path> createRuns(Path input, Path tempDir, Path output, long memoryBudget) throws IOException {
+        long size = Files.size(input);
+        if (size % Double.BYTES != 0) {
+            throw new IOException("Tamanho do arquivo não é múltiplo de 8 bytes: " + input);
+        }
+        long total = size / Double.BYTES;
+
+        // Um buffer de E/S (até 1/8 do orçamento) serve à leitura e à escrita; o restante vai para o bloco
+        int ioBuffer = (int) Math.min(MAX_IO_BUFFER, memoryBudget / 8);
+        long chunkBytes = memoryBudget - ioBuffer;
+        int chunkSize = (int) Math.min(Math.min(chunkBytes / Double.BYTES, Integer.MAX_VALUE - 8), Math.max(total, 1));
+
+        List<Path> runs = new ArrayList<>();
+        double[] chunk = new double[chunkSize];
+        ByteBuffer buf = ByteBuffer.allocateDirect(ioBuffer).order(BYTE_ORDER);
+
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ)) {
+            long remaining = total;
+            do {
+                int count = (int) Math.min(chunkSize, remaining);
+                int read = 0;
+                while (read < count) {
+                    read += readChunk(in, buf, chunk, read, count - read);
+                }
+                remaining -= count;
+
+                SmartSort.sortTuned(chunk, 0, count - 1);
+
+                // Entrada inteira em um bloco: não há o que mesclar
+                boolean single = runs.isEmpty() && remaining == 0;
+                Path run = single ? output : Files.createTempFile(tempDir, "run", ".bin");
+                try (FileChannel out = FileChannel.open(run, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                    int written = 0;
+                    while (written < count) {
+                        buf.clear();
+                        int n = Math.min(count - written, buf.capacity() / Double.BYTES);
+                        buf.asDoubleBuffer().put(chunk, written, n);
+                        buf.limit(n * Double.BYTES);
+                        writeFully(out, buf);
+                        written += n;
+                    }
+                }
+                if (!single) runs.add(run);
+            } while (remaining > 0);
+        }
+        return runs;
+    }
+
+    /**
+     * Lê até 'max' doubles do canal para dest[offset..], usando buf como área de transferência.
+     * @return Quantidade de doubles lidos (sempre > 0 enquanto houver dados).
+     */
+    private static int readChunk(FileChannel in, ByteBuffer buf, double[] dest, int offset, int max) throws IOException {
+        buf.clear();
+        buf.limit(Math.min(buf.capacity() / Double.BYTES, max) * Double.BYTES);
+        while (buf.hasRemaining()) {
+            if (in.read(buf) < 0) break;
+        }
+        buf.flip();
+        if (buf.remaining() % Double.BYTES != 0 || !buf.hasRemaining()) {
+            throw new IOException("Fim inesperado do arquivo binário");
+        }
+        int n = buf.remaining() / Double.BYTES;
+        buf.asDoubleBuffer().get(dest, offset, n);
+        return n;
+    }
+
+    // =======================================================
+    // FASE 2: MESCLAGEM K-WAY
+    // =======================================================
+
+    /**
+     * Mescla as runs ordenadas em 'output' usando um min-heap de leitores.
+     * O heap guarda apenas índices (int[]); a comparação usa a chave do valor atual de cada
+     * leitor, na mesma ordem total das runs (-0.0 antes de 0.0, NaN no fim).
+     */
+    private static void mergeRuns(List<Path> runs, Path output, long memoryBudget) throws IOException {
+        int k = runs.size();
+        int bufferSize = (int) Math.min(MAX_IO_BUFFER, Math.max(MIN_MERGE_BUFFER, memoryBudget / (k + 1)));
+        bufferSize -= bufferSize % Double.BYTES;
+
+        RunReader[] readers = new RunReader[k];
+        try (RunWriter writer = new RunWriter(output, bufferSize)) {
+            int[] heap = new int[k];
+            int size = 0;
+            for (int r = 0; r < k; r++) {
+                readers[r] = new RunReader(runs.get(r), bufferSize);
+                if (readers[r].advance()) heap[size++] = r;
+            }
+            for (int i = size / 2 - 1; i >= 0; i--) siftDown(heap, size, i, readers);
+
+            while (size > 0) {
+                RunReader top = readers[heap[0]];
+                writer.write(top.current);
+                if (!top.advance()) {
+                    heap[0] = heap[--size]; // Run esgotada: sai do heap
+                }
+                siftDown(heap, size, 0, readers);
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                if (reader != null) reader.close();
+            }
+        }
+    }
+
+    private static void siftDown(int[] heap, int size, int i, RunReader[] readers) {
+        int item = heap[i];
+        long key = readers[item].key;
+        int half = size / 2;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && readers[heap[child + 1]].key < readers[heap[child]].key) {
+                child++;
+            }
+            if (key <= readers[heap[child]].key) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = item;
+    }
+
+    /**
+     * Leitor sequencial de uma run, com buffer direto.
+     */
+    private static final class RunReader implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        double current;
+        // Chave de 'current' cuja ordem com sinal é a ordem total de Double.compare
+        // (calculada uma vez por valor; '<' no double não ordena NaN nem -0.0)
+        long key;
+
+        RunReader(Path file, int bufferSize) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            buffer = ByteBuffer.allocateDirect(bufferSize).order(BYTE_ORDER);
+            buffer.flip(); // Começa vazio
+        }
+
+        /**
+         * Carrega o próximo valor em 'current'; retorna false no fim da run.
+         */
+        boolean advance() throws IOException {
+            if (buffer.remaining() < Double.BYTES) {
+                // Recarrega o buffer inteiro (leitura sequencial em blocos grandes)
+                buffer.compact();
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer) < 0) break;
+                }
+                buffer.flip();
+                if (buffer.remaining() < Double.BYTES) return false;
+            }
+            current = buffer.getDouble();
+            key = RadixSort.toSortableBits(current) ^ Long.MIN_VALUE;
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * Escritor sequencial com buffer direto.
+     */
+    private static final class RunWriter implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+
+        RunWriter(Path file, int bufferSize) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            buffer = ByteBuffer.allocateDirect(bufferSize).order(BYTE_ORDER);
+        }
+
+        void write(double value) throws IOException {
+            if (!buffer.hasRemaining()) flush();
+            buffer.putDouble(value);
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            writeFully(channel, buffer);
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buf) throws IOException {
+        while (buf.hasRemaining()) {
+            channel.write(buf);
+        }
+    }
+
+    private static void deleteDirectory(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path p : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(p);
+            }
+        }
+        Files.deleteIfExists(dir);
+    }
+}
@@ -0,0 +1,75 @@
+/**
+ * Implementação do algoritmo de ordenação Heap Sort.
+ * * **Complexidade de Tempo:** O(n log n) em todos os cenários.
+ * * **Memória:** O(1) extra — ordena no próprio array (in-place).
+ * Não é estável, mas é a rede de segurança ideal para o Introsort: garante o
+ * pior caso O(n log n) sem a memória auxiliar do Merge Sort.
+ */
+public class HeapSort {
+
+    /**
+     * Ordena arr[low..high] no próprio array.
+     * 1. Constrói um max-heap sobre o subarray.
+     * 2. Move repetidamente o maior elemento (raiz) para o fim e restaura o heap.
+     * NaN e -0.0 seguem a ordem de Arrays.sort (ver {@link SmartSort#sortInTotalOrder}).
+     * @param arr O array a ser ordenado.
+     * @param low O índice inicial do subarray.
+     * @param high O índice final do subarray.
+     */
+    public static void sort(double[] arr, int low, int high) {
+        SmartSort.sortInTotalOrder(arr, low, high, HeapSort::heapSort);
+    }
+
+    private static void heapSort(double[] arr, int low, int high) {
+        int n = high - low + 1;
+        long levels = 0;
+
+        // 1. Construção do heap: aplica siftDown a partir do último nó interno
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            int stop = siftDown(arr, low, i, n);
+            if (SortMetrics.ENABLED) levels += levels(i, stop);
+        }
+
+        // 2. Extração: a raiz (maior elemento) vai para o fim da região não ordenada
+        for (int end = n - 1; end > 0; end--) {
+            double temp = arr[low];
+            arr[low] = arr[low + end];
+            arr[low + end] = temp;
+            int stop = siftDown(arr, low, 0, end);
+            if (SortMetrics.ENABLED) levels += levels(0, stop);
+        }
+
+        // Métricas (estimadas): duas comparações por nível percorrido e pela parada de cada
+        // siftDown; um deslocamento por nível mais a troca de cada extração
+        if (SortMetrics.ENABLED) SortMetrics.work(2 * (levels + n / 2 + n - 1), levels + (n - 1));
+    }
+
+    /**
+     * Quantos níveis do heap separam as posições 'from' e 'to' (to descendente de from).
+     */
+    private static int levels(int from, int to) {
+        return Integer.numberOfLeadingZeros(from + 1) - Integer.numberOfLeadingZeros(to + 1);
+    }
+
+    /**
+     * Desce o elemento da posição i (relativa a 'offset') até restaurar a propriedade de max-heap
+     * nas primeiras 'size' posições.
+     * @return A posição final do elemento (relativa a 'offset').
+     */
+    private static int siftDown(double[] arr, int offset, int i, int size) {
+        double value = arr[offset + i];
+        int half = size / 2;
+        while (i < half) {
+            int child = 2 * i + 1;
+            // Escolhe o maior dos dois filhos
+            if (child + 1 < size && arr[offset + child + 1] > arr[offset + child]) {
+                child++;
+            }
+            if (value >= arr[offset + child]) break;
+            arr[offset + i] = arr[offset + child]; // Sobe o filho (evita trocas completas)
+            i = child;
+        }
+        arr[offset + i] = value;
+        return i;
+    }
+}
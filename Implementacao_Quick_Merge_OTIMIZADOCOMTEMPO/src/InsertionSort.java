@@ -0,0 +1,35 @@
+/**
+ * Implementação do algoritmo de ordenação Insertion Sort.
+ * * **Complexidade de Tempo:** O(n²) no pior caso, O(n) em dados já ordenados.
+ * Em subarrays pequenos é mais rápido que Quick/Merge Sort (sem recursão e com ótimo uso de cache),
+ * por isso é usado como caso base dos algoritmos híbridos.
+ * Compara com {@code >}: os híbridos em ordem total só o chamam depois de separar os NaN e
+ * trocar -0.0 por 0.0.
+ */
+public class InsertionSort {
+
+    /**
+     * Ordena arr[low..high] deslocando cada elemento para a esquerda até sua posição.
+     * @param arr O array a ser ordenado.
+     * @param low O índice inicial do subarray.
+     * @param high O índice final do subarray.
+     */
+    public static void sort(double[] arr, int low, int high) {
+        long shifts = 0;
+        long stops = 0;
+        for (int i = low + 1; i <= high; i++) {
+            double value = arr[i];
+            int j = i - 1;
+            // Desloca os maiores uma posição para a direita
+            while (j >= low && arr[j] > value) {
+                arr[j + 1] = arr[j];
+                j--;
+            }
+            arr[j + 1] = value;
+            shifts += i - 1 - j;
+            if (j >= low) stops++;
+        }
+        // Cada deslocamento custou uma comparação, mais a que parou o laço (se não chegou em low)
+        if (SortMetrics.ENABLED) SortMetrics.work(shifts + stops, shifts);
+    }
+}
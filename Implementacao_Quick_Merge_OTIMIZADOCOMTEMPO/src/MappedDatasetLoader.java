@@ -0,0 +1,323 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Carregador de CSV para arquivos grandes (alternativa ao {@link DatasetLoader}).
+ * * **Leitura:** O arquivo é mapeado em memória (FileChannel + MappedByteBuffer) em janelas
+ * e percorrido byte a byte procurando delimitadores e quebras de linha.
+ * * **Sem objetos por valor:** Os números são convertidos diretamente dos bytes, sem criar
+ * String nem Double; os valores vão direto para arrays primitivos que crescem sob demanda.
+ * * **Formato:** O separador (`;` ou `,`) é detectado pelo cabeçalho, que é ignorado
+ * (aspas do cabeçalho ou dos campos são toleradas). Serve tanto para winequality-white.csv
+ * quanto para WineQT.csv.
+ */
+public class MappedDatasetLoader {
+
+    // Tamanho máximo de cada janela mapeada (uma linha nunca pode ser maior que isso)
+    private static final long WINDOW_SIZE = 1L << 30;
+
+    // Potências de 10 representáveis exatamente em double (caminho rápido da conversão)
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * Carrega todos os valores de uma coluna.
+     * @param filePath O caminho do arquivo CSV.
+     * @param columnIndex O índice da coluna (base zero).
+     * @return Os valores da coluna (linhas inválidas são ignoradas).
+     */
+    public static double[] loadColumn(String filePath, int columnIndex) {
+        return loadColumns(filePath, columnIndex)[0];
+    }
+
+    /**
+     * Carrega várias colunas em uma única passada, mantendo as linhas alinhadas.
+     * Linhas com alguma das colunas ausente ou não numérica são descartadas por inteiro.
+     * @param filePath O caminho do arquivo CSV.
+     * @param columnIndexes Os índices das colunas (base zero), sem repetição.
+     * @return Um array por coluna pedida, na mesma ordem de columnIndexes.
+     */
+    public static double[][] loadColumns(String filePath, int... columnIndexes) {
+        return load(filePath, WINDOW_SIZE, columnIndexes);
+    }
+
+    /**
+     * Implementação com o tamanho de janela como parâmetro.
+     */
+    static double[][] load(String filePath, long windowSize, int... columnIndexes) {
+        if (columnIndexes.length == 0) {
+            throw new IllegalArgumentException("Informe ao menos uma coluna");
+        }
+
+        // slotOf[coluna do CSV] = posição no resultado (ou -1 se a coluna não foi pedida)
+        int maxColumn = 0;
+        for (int c : columnIndexes) {
+            if (c < 0) throw new IllegalArgumentException("Índice de coluna negativo: " + c);
+            maxColumn = Math.max(maxColumn, c);
+        }
+        int[] slotOf = new int[maxColumn + 1];
+        Arrays.fill(slotOf, -1);
+        for (int s = 0; s < columnIndexes.length; s++) {
+            if (slotOf[columnIndexes[s]] >= 0) {
+                throw new IllegalArgumentException("Coluna repetida: " + columnIndexes[s]);
+            }
+            slotOf[columnIndexes[s]] = s;
+        }
+
+        ColumnBuffer out = new ColumnBuffer(columnIndexes.length);
+
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            byte delimiter = ';';
+            boolean headerRead = false;
+
+            while (position < size) {
+                long length = Math.min(windowSize, size - position);
+                boolean lastWindow = position + length == size;
+                MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                int limit = (int) length;
+                int start = 0;
+
+                // Primeira janela: detecta o separador pelo cabeçalho e o ignora
+                if (!headerRead) {
+                    int eol = indexOf(buf, (byte) '\n', 0, limit);
+                    if (eol < 0) {
+                        if (!lastWindow) throw new IOException("Cabeçalho maior que a janela de leitura");
+                        eol = limit;
+                    }
+                    delimiter = detectDelimiter(buf, 0, eol);
+                    headerRead = true;
+                    out.lineNumber = 1;
+                    start = Math.min(eol + 1, limit);
+                }
+
+                int consumed = parseLines(buf, start, limit, lastWindow, delimiter, slotOf, columnIndexes.length, out);
+                if (consumed == 0 && !lastWindow) {
+                    throw new IOException("Linha " + (out.lineNumber + 1) + " maior que a janela de leitura");
+                }
+                // A próxima janela recomeça no início da linha que ficou incompleta
+                position += consumed;
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao carregar o arquivo: " + filePath);
+            e.printStackTrace();
+        }
+
+        return out.toColumns();
+    }
+
+    /**
+     * Percorre as linhas completas de buf[start..limit).
+     * @return Posição (relativa à janela) logo após a última linha completa processada.
+     */
+    private static int parseLines(ByteBuffer buf, int start, int limit, boolean lastWindow,
+                                  byte delimiter, int[] slotOf, int wanted, ColumnBuffer out) {
+        int pos = start;
+        while (pos < limit) {
+            int lineStart = pos;
+            int field = 0;
+            int fieldStart = pos;
+            int found = 0;
+            boolean valid = true;
+            boolean blank = true;
+
+            out.ensureCapacity();
+            while (true) {
+                byte b;
+                if (pos == limit) {
+                    // Linha sem '\n' no fim da janela: só vale se for o fim do arquivo
+                    if (!lastWindow) return lineStart;
+                    b = '\n';
+                } else {
+                    b = buf.get(pos);
+                }
+
+                if (b == delimiter || b == '\n') {
+                    if (valid && field < slotOf.length && slotOf[field] >= 0) {
+                        try {
+                            out.columns[slotOf[field]][out.size] = parseNumber(buf, fieldStart, pos);
+                            found++;
+                        } catch (NumberFormatException e) {
+                            valid = false;
+                        }
+                    }
+                    field++;
+                    if (b == '\n') break;
+                    fieldStart = pos + 1;
+                } else if (b != '\r' && b != ' ') {
+                    blank = false;
+                }
+                pos++;
+            }
+            pos++; // Pula o '\n'
+            out.lineNumber++;
+
+            if (valid && found == wanted) {
+                out.size++; // Confirma a linha: os valores já estão nas colunas
+            } else if (!blank) {
+                System.err.println("Linha " + out.lineNumber + " ignorada (coluna ausente ou não numérica)");
+            }
+        }
+        return Math.min(pos, limit);
+    }
+
+    /**
+     * Converte buf[start..end) em double sem criar objetos.
+     * Caminho rápido: até 15 dígitos significativos e expoente decimal entre -22 e 22,
+     * em que mantissa e potência de 10 são exatas e uma única operação dá o arredondamento
+     * correto. Fora disso (ou para NaN, Infinity, etc.) usa Double.parseDouble.
+     */
+    static double parseNumber(ByteBuffer buf, int start, int end) {
+        // Remove espaços, '\r' e aspas nas pontas
+        while (start < end && isTrimmable(buf.get(start))) start++;
+        while (end > start && isTrimmable(buf.get(end - 1))) end--;
+        if (start == end) throw new NumberFormatException("Campo vazio");
+
+        int i = start;
+        boolean negative = false;
+        byte b = buf.get(i);
+        if (b == '-' || b == '+') {
+            negative = b == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int significant = 0;
+        int exp10 = 0;
+        boolean anyDigit = false;
+        boolean truncated = false;
+
+        // Parte inteira
+        while (i < end && (b = buf.get(i)) >= '0' && b <= '9') {
+            anyDigit = true;
+            if (significant < 18) {
+                mantissa = mantissa * 10 + (b - '0');
+                if (mantissa != 0) significant++;
+            } else {
+                exp10++;
+                truncated = true;
+            }
+            i++;
+        }
+
+        // Parte fracionária
+        if (i < end && buf.get(i) == '.') {
+            i++;
+            while (i < end && (b = buf.get(i)) >= '0' && b <= '9') {
+                anyDigit = true;
+                if (significant < 18) {
+                    mantissa = mantissa * 10 + (b - '0');
+                    if (mantissa != 0) significant++;
+                    exp10--;
+                } else {
+                    truncated = true;
+                }
+                i++;
+            }
+        }
+
+        // Expoente (1e-3, 2.5E+4)
+        if (anyDigit && i < end && ((b = buf.get(i)) == 'e' || b == 'E')) {
+            int j = i + 1;
+            boolean expNegative = false;
+            if (j < end && ((b = buf.get(j)) == '-' || b == '+')) {
+                expNegative = b == '-';
+                j++;
+            }
+            int exponent = 0;
+            boolean expDigit = false;
+            while (j < end && (b = buf.get(j)) >= '0' && b <= '9') {
+                expDigit = true;
+                if (exponent < 10_000) exponent = exponent * 10 + (b - '0');
+                j++;
+            }
+            if (expDigit) {
+                exp10 += expNegative ? -exponent : exponent;
+                i = j;
+            }
+        }
+
+        if (anyDigit && i == end) {
+            if (mantissa == 0) return negative ? -0.0 : 0.0;
+            if (!truncated && significant <= 15 && exp10 >= -22 && exp10 <= 22) {
+                double value = exp10 >= 0 ? mantissa * POWERS_OF_TEN[exp10] : mantissa / POWERS_OF_TEN[-exp10];
+                return negative ? -value : value;
+            }
+        }
+
+        // Caso raro: delega ao parser do Java (lança NumberFormatException se não for número)
+        byte[] bytes = new byte[end - start];
+        buf.get(start, bytes);
+        return Double.parseDouble(new String(bytes, StandardCharsets.US_ASCII));
+    }
+
+    private static boolean isTrimmable(byte b) {
+        return b == ' ' || b == '\r' || b == '"' || b == '\t';
+    }
+
+    /**
+     * Procura o byte 'target' em buf[from..limit); retorna -1 se não encontrar.
+     */
+    private static int indexOf(ByteBuffer buf, byte target, int from, int limit) {
+        for (int i = from; i < limit; i++) {
+            if (buf.get(i) == target) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Escolhe o separador mais frequente no cabeçalho (fora de aspas) entre `;` e `,`.
+     */
+    private static byte detectDelimiter(ByteBuffer buf, int start, int end) {
+        int semicolons = 0;
+        int commas = 0;
+        boolean quoted = false;
+        for (int i = start; i < end; i++) {
+            byte b = buf.get(i);
+            if (b == '"') quoted = !quoted;
+            else if (!quoted && b == ';') semicolons++;
+            else if (!quoted && b == ',') commas++;
+        }
+        return semicolons >= commas ? (byte) ';' : (byte) ',';
+    }
+
+    /**
+     * Colunas primitivas que crescem sob demanda (sem boxing).
+     * Os valores de uma linha são escritos na posição 'size' e só passam a contar
+     * quando a linha inteira é válida.
+     */
+    private static final class ColumnBuffer {
+        double[][] columns;
+        int size;
+        long lineNumber;
+
+        ColumnBuffer(int columnCount) {
+            columns = new double[columnCount][1024];
+        }
+
+        void ensureCapacity() {
+            if (size < columns[0].length) return;
+            int newCapacity = columns[0].length + (columns[0].length >> 1);
+            for (int c = 0; c < columns.length; c++) {
+                columns[c] = Arrays.copyOf(columns[c], newCapacity);
+            }
+        }
+
+        double[][] toColumns() {
+            double[][] result = new double[columns.length][];
+            for (int c = 0; c < columns.length; c++) {
+                result[c] = Arrays.copyOf(columns[c], size);
+            }
+            return result;
+        }
+    }
+}
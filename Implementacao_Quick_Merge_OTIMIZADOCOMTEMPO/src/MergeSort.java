@@ -2,85 +2,255 @@
  * Implementação do algoritmo de ordenação Merge Sort.
  * * **Complexidade de Tempo:** O(n log n) em todos os cenários (Melhor, Médio e Pior Caso).
  * É um algoritmo de ordenação estável baseado no paradigma de "Divisão e Conquista" (Divide and Conquer).
+ * * **Memória:** Usa um único buffer auxiliar de tamanho n por ordenação (ou o buffer
+ * fornecido pelo chamador). Em vez de copiar de volta a cada mesclagem, o array principal
+ * e o buffer alternam os papéis de origem e destino a cada nível da recursão ("ping-pong").
+ * * **NaN:** sort compara com {@code <=} e não define a posição de NaN nem a ordem entre -0.0 e
+ * 0.0; só {@link #mergeGalloping} segue a ordem total (Double.compare).
  */
 public class MergeSort {
 
+    // Vitórias seguidas de um mesmo lado antes de passar para o modo galope (mergeGalloping)
+    private static final int MIN_GALLOP = 7;
+
     /**
-     * Ponto de entrada e fase de **"Divisão" (Divide)** da recursão.
-     * Este método divide o array recursivamente até que os subarrays
-     * atinjam o caso base (um elemento, que é considerado ordenado).
+     * Ponto de entrada: ordena arr[left..right] alocando um único buffer auxiliar.
      * @param arr O array a ser ordenado.
      * @param left O índice inicial do subarray a ser processado.
      * @param right O índice final do subarray a ser processado.
      */
     public static void sort(double[] arr, int left, int right) {
-        // Base case: Se left < right, o subarray tem pelo menos dois elementos para dividir
         if (left < right) {
-            // Encontra o ponto médio (evitando overflow de inteiros)
-            int middle = left + (right - left) / 2;
-            
-            // 1. DIVIDE: Chama recursivamente para ordenar a primeira metade (left...middle)
-            sort(arr, left, middle);
-            // 2. DIVIDE: Chama recursivamente para ordenar a segunda metade (middle+1...right)
-            sort(arr, middle + 1, right);
-
-            // 3. CONQUER: Mescla as duas metades ordenadas
-            merge(arr, left, middle, right);
+            if (SortMetrics.ENABLED) SortMetrics.begin("MERGE", right - left + 1);
+            try {
+                if (SortMetrics.ENABLED) SortMetrics.scratch((long) (right - left + 1) * Double.BYTES);
+                sort(arr, left, right, new double[right - left + 1]);
+            } finally {
+                if (SortMetrics.ENABLED) SortMetrics.end();
+            }
         }
     }
 
     /**
-     * Mescla (Combina) dois subarrays já ordenados em um único subarray ordenado.
-     * Esta é a fase de **"Conquista" (Conquer)** do algoritmo, com complexidade de tempo O(n).
-     * O primeiro subarray é arr[left..middle].
-     * O segundo subarray é arr[middle+1..right].
+     * Ordena arr[left..right] usando o buffer fornecido pelo chamador (nenhuma alocação).
+     * O mesmo buffer pode ser reutilizado entre ordenações.
+     * @param arr O array a ser ordenado.
+     * @param left O índice inicial do subarray a ser processado.
+     * @param right O índice final do subarray a ser processado.
+     * @param buffer Área auxiliar com pelo menos (right - left + 1) posições.
+     */
+    public static void sort(double[] arr, int left, int right, double[] buffer) {
+        if (left >= right) return;
+
+        int n = right - left + 1;
+        if (buffer.length < n) {
+            throw new IllegalArgumentException("Buffer com " + buffer.length + " posições; necessário " + n);
+        }
+
+        // O buffer começa com uma cópia do subarray; a posição i do array
+        // corresponde à posição (i - left) do buffer.
+        System.arraycopy(arr, left, buffer, 0, n);
+        sortInto(buffer, left, arr, 0, left, right);
+    }
+
+    /**
+     * Mesclagem natural (estilo TimSort): mescla trechos que já estão ordenados.
+     * Os trechos são mesclados dois a dois, de baixo para cima, alternando entre o array
+     * e um único buffer auxiliar. Custo O(n log k) para k trechos.
+     * @param arr O array que contém os trechos.
+     * @param runs Limites dos trechos: o trecho r ocupa arr[runs[r]..runs[r+1]-1].
+     *             Deve ter runCount + 1 posições e é modificado durante a mesclagem.
+     * @param runCount Quantidade de trechos.
+     */
+    static void mergeRuns(double[] arr, int[] runs, int runCount) {
+        if (runCount < 2) return;
+
+        int offset = runs[0];
+        double[] buffer = new double[runs[runCount] - offset];
+        if (SortMetrics.ENABLED) SortMetrics.scratch((long) buffer.length * Double.BYTES);
+
+        double[] src = arr;
+        int srcOff = 0;
+        double[] dst = buffer;
+        int dstOff = offset;
+
+        while (runCount > 1) {
+            int k = 0;
+            for (int r = 0; r < runCount; r += 2) {
+                if (r + 1 < runCount) {
+                    merge(src, srcOff, dst, dstOff, runs[r], runs[r + 1] - 1, runs[r + 2] - 1);
+                } else {
+                    // Trecho sem par nesta passada: apenas acompanha a troca de array
+                    System.arraycopy(src, runs[r] - srcOff, dst, runs[r] - dstOff, runs[r + 1] - runs[r]);
+                }
+                runs[k++] = runs[r];
+            }
+            runs[k] = runs[runCount];
+            runCount = k;
+
+            // Troca os papéis de origem e destino
+            double[] t = src; src = dst; dst = t;
+            int o = srcOff; srcOff = dstOff; dstOff = o;
+        }
+
+        // Se o resultado terminou no buffer, copia de volta
+        if (src != arr) {
+            System.arraycopy(buffer, 0, arr, offset, buffer.length);
+        }
+    }
+
+    /**
+     * Mescla dois arrays ordenados em um novo array, com "galope" (estilo TimSort).
+     * Começa como o merge comum, mas quando um dos lados vence MIN_GALLOP vezes seguidas,
+     * procura por busca exponencial quantos elementos seguidos vêm desse lado e os copia
+     * em bloco. Quando um lote pequeno é mesclado a um array grande, a maior parte do array
+     * grande é copiada com System.arraycopy em vez de comparada elemento a elemento.
+     * Em caso de empate o elemento de 'a' vem primeiro. As comparações seguem Double.compare
+     * (NaN por último, -0.0 antes de 0.0), a mesma ordem total em que o SmartSort deixa os lotes.
+     * @param a Primeiro array ordenado (usa a[0..aLen-1]).
+     * @param b Segundo array ordenado (usa b[0..bLen-1]).
+     * @return Um novo array com os aLen + bLen elementos ordenados.
      */
-    private static void merge(double[] arr, int left, int middle, int right) {
-        // Calcula os tamanhos dos dois subarrays que serão mesclados
-        int n1 = middle - left + 1; // Tamanho do subarray esquerdo (L)
-        int n2 = right - middle;    // Tamanho do subarray direito (R)
-
-        // Cria arrays temporários para armazenar os elementos dos subarrays
-        double[] L = new double[n1];
-        double[] R = new double[n2];
-
-        // Copia os dados do array principal para o array temporário L[]
-        for (int i = 0; i < n1; ++i)
-            L[i] = arr[left + i];
-        // Copia os dados do array principal para o array temporário R[]
-        for (int j = 0; j < n2; ++j)
-            R[j] = arr[middle + 1 + j];
-
-        // Índices de controle para a mesclagem:
-        int i = 0; // Índice de L[]
-        int j = 0; // Índice de R[]
-        int k = left; // Índice do array mesclado (principal arr[])
-
-        // Mescla os arrays temporários de volta para arr[left..right] de forma ordenada
-        while (i < n1 && j < n2) {
-            // Compara os elementos: o menor elemento vai para o array principal
-            if (L[i] <= R[j]) {
-                arr[k] = L[i];
-                i++; // Avança no array esquerdo
+    static double[] mergeGalloping(double[] a, int aLen, double[] b, int bLen) {
+        double[] dst = new double[aLen + bLen];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        int winsA = 0;
+        int winsB = 0;
+
+        while (i < aLen && j < bLen) {
+            if (winsA >= MIN_GALLOP) {
+                // Galope em a: todos os a[x] <= b[j] vêm antes
+                int end = gallopRight(a, i, aLen, b[j]);
+                System.arraycopy(a, i, dst, k, end - i);
+                k += end - i;
+                i = end;
+                winsA = 0;
+            } else if (winsB >= MIN_GALLOP) {
+                // Galope em b: todos os b[y] < a[i] vêm antes
+                int end = gallopLeft(b, j, bLen, a[i]);
+                System.arraycopy(b, j, dst, k, end - j);
+                k += end - j;
+                j = end;
+                winsB = 0;
+            } else if (Double.compare(a[i], b[j]) <= 0) {
+                dst[k++] = a[i++];
+                winsA++;
+                winsB = 0;
             } else {
-                arr[k] = R[j];
-                j++; // Avança no array direito
+                dst[k++] = b[j++];
+                winsB++;
+                winsA = 0;
             }
-            k++; // Avança no array principal
         }
 
-        // Se o array esquerdo L[] ainda tiver elementos, copia os restantes
-        while (i < n1) {
-            arr[k] = L[i];
-            i++;
-            k++;
+        if (i < aLen) System.arraycopy(a, i, dst, k, aLen - i);
+        if (j < bLen) System.arraycopy(b, j, dst, k, bLen - j);
+        return dst;
+    }
+
+    /**
+     * Primeira posição em arr[from..to) com valor > key (busca exponencial + binária).
+     */
+    private static int gallopRight(double[] arr, int from, int to, double key) {
+        int step = 1;
+        int lo = from;
+        int hi = from;
+        while (hi < to && Double.compare(arr[hi], key) <= 0) {
+            lo = hi + 1;
+            hi = from + step;
+            step <<= 1;
         }
+        hi = Math.min(hi, to);
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (Double.compare(arr[mid], key) <= 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
 
-        // Se o array direito R[] ainda tiver elementos, copia os restantes
-        while (j < n2) {
-            arr[k] = R[j];
-            j++;
-            k++;
+    /**
+     * Primeira posição em arr[from..to) com valor >= key (busca exponencial + binária).
+     */
+    private static int gallopLeft(double[] arr, int from, int to, double key) {
+        int step = 1;
+        int lo = from;
+        int hi = from;
+        while (hi < to && Double.compare(arr[hi], key) < 0) {
+            lo = hi + 1;
+            hi = from + step;
+            step <<= 1;
+        }
+        hi = Math.min(hi, to);
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (Double.compare(arr[mid], key) < 0) lo = mid + 1;
+            else hi = mid;
         }
+        return lo;
+    }
+
+    /**
+     * Fase de **"Divisão" (Divide)** da recursão.
+     * Ordena o intervalo [left..right] deixando o resultado em dst, usando src como área de trabalho.
+     * Pré-condição: src e dst contêm os mesmos elementos no intervalo.
+     * Cada nível troca os papéis: as metades são ordenadas em src (usando dst como trabalho)
+     * e depois mescladas de src para dst, sem cópias de volta.
+     * @param srcOff Deslocamento de src: o índice i corresponde a src[i - srcOff].
+     * @param dstOff Deslocamento de dst: o índice i corresponde a dst[i - dstOff].
+     */
+    private static void sortInto(double[] src, int srcOff, double[] dst, int dstOff, int left, int right) {
+        // Base case: um único elemento já está no lugar certo em ambos os arrays
+        if (left >= right) return;
+
+        // Encontra o ponto médio (evitando overflow de inteiros)
+        int middle = left + (right - left) / 2;
+
+        // 1. DIVIDE: ordena as duas metades em src (os papéis se invertem)
+        sortInto(dst, dstOff, src, srcOff, left, middle);
+        sortInto(dst, dstOff, src, srcOff, middle + 1, right);
+
+        // 2. CONQUER: mescla as metades ordenadas de src diretamente em dst
+        merge(src, srcOff, dst, dstOff, left, middle, right);
+    }
+
+    /**
+     * Mescla (Combina) dois trechos ordenados de src em um único trecho ordenado de dst.
+     * Esta é a fase de **"Conquista" (Conquer)** do algoritmo, com complexidade de tempo O(n).
+     * O primeiro trecho é [left..middle] e o segundo é [middle+1..right].
+     * Em caso de empate o elemento da esquerda vem primeiro (mantém a estabilidade).
+     */
+    static void merge(double[] src, int srcOff, double[] dst, int dstOff, int left, int middle, int right) {
+        // Índices de controle para a mesclagem (já convertidos para as posições físicas):
+        int i = left - srcOff;         // Trecho esquerdo
+        int iEnd = middle - srcOff;
+        int j = middle + 1 - srcOff;   // Trecho direito
+        int jEnd = right - srcOff;
+        int k = left - dstOff;         // Destino
+
+        // Se as metades já estiverem em ordem, basta copiar (caso comum em entradas ordenadas)
+        if (src[iEnd] <= src[j]) {
+            System.arraycopy(src, i, dst, k, right - left + 1);
+            if (SortMetrics.ENABLED) SortMetrics.work(1, 0);
+            return;
+        }
+
+        // Compara os elementos: o menor elemento vai para o destino
+        while (i <= iEnd && j <= jEnd) {
+            if (src[i] <= src[j]) {
+                dst[k++] = src[i++];
+            } else {
+                dst[k++] = src[j++];
+            }
+        }
+
+        // Métricas: a verificação inicial mais uma comparação por elemento copiado no laço
+        if (SortMetrics.ENABLED) SortMetrics.work(1 + (k - (left - dstOff)), 0);
+
+        // Copia o que restar de qualquer um dos trechos
+        if (i <= iEnd) System.arraycopy(src, i, dst, k, iEnd - i + 1);
+        if (j <= jEnd) System.arraycopy(src, j, dst, k, jEnd - j + 1);
     }
 }
\ No newline at end of file
@@ -0,0 +1,131 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Array de doubles fora do heap da JVM, indexado por long.
+ * * **Armazenamento:** Blocos de 1 GB (2^27 doubles), cada um um ByteBuffer direto ou um
+ * trecho mapeado de arquivo. Assim o tamanho não fica limitado aos 2 GB de um único buffer
+ * e os dados não ocupam regiões do G1 (nem as "humongous").
+ * * **Arquivos:** {@link #map(Path)} mapeia um arquivo binário no formato do {@link ExternalSort}
+ * (little-endian) diretamente, sem copiá-lo para o heap.
+ */
+public class OffHeapDoubleArray {
+
+    private static final int CHUNK_SHIFT = 27;
+    private static final long CHUNK_SIZE = 1L << CHUNK_SHIFT;
+    private static final long CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final DoubleBuffer[] chunks;
+    private final MappedByteBuffer[] mapped;
+    private final long length;
+
+    private OffHeapDoubleArray(DoubleBuffer[] chunks, MappedByteBuffer[] mapped, long length) {
+        this.chunks = chunks;
+        this.mapped = mapped;
+        this.length = length;
+    }
+
+    /**
+     * Aloca n doubles (inicialmente 0.0) em memória direta, na ordem de bytes nativa.
+     */
+    public static OffHeapDoubleArray allocate(long n) {
+        DoubleBuffer[] chunks = new DoubleBuffer[chunkCount(n)];
+        for (int c = 0; c < chunks.length; c++) {
+            int elements = (int) Math.min(CHUNK_SIZE, n - (c * CHUNK_SIZE));
+            chunks[c] = ByteBuffer.allocateDirect(elements * Double.BYTES).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+        }
+        return new OffHeapDoubleArray(chunks, null, n);
+    }
+
+    /**
+     * Copia um array do heap para memória direta (útil para testes e conversões).
+     */
+    public static OffHeapDoubleArray copyOf(double[] values) {
+        OffHeapDoubleArray array = allocate(values.length);
+        for (int c = 0; c < array.chunks.length; c++) {
+            array.chunks[c].put(0, values, (int) (c * CHUNK_SIZE), array.chunks[c].capacity());
+        }
+        return array;
+    }
+
+    /**
+     * Mapeia um arquivo binário de doubles (little-endian) para leitura e escrita.
+     * As alterações são gravadas no próprio arquivo (use {@link #force()} para garantir).
+     */
+    public static OffHeapDoubleArray map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            if (size % Double.BYTES != 0) {
+                throw new IOException("Tamanho do arquivo não é múltiplo de 8 bytes: " + file);
+            }
+            long n = size / Double.BYTES;
+            DoubleBuffer[] chunks = new DoubleBuffer[chunkCount(n)];
+            MappedByteBuffer[] mapped = new MappedByteBuffer[chunks.length];
+            for (int c = 0; c < chunks.length; c++) {
+                long elements = Math.min(CHUNK_SIZE, n - (c * CHUNK_SIZE));
+                mapped[c] = channel.map(FileChannel.MapMode.READ_WRITE, c * CHUNK_SIZE * Double.BYTES, elements * Double.BYTES);
+                chunks[c] = mapped[c].order(ExternalSort.BYTE_ORDER).asDoubleBuffer();
+            }
+            // O mapeamento continua válido depois que o canal é fechado
+            return new OffHeapDoubleArray(chunks, mapped, n);
+        }
+    }
+
+    public long length() {
+        return length;
+    }
+
+    public double get(long i) {
+        return chunks[(int) (i >>> CHUNK_SHIFT)].get((int) (i & CHUNK_MASK));
+    }
+
+    public void set(long i, double value) {
+        chunks[(int) (i >>> CHUNK_SHIFT)].put((int) (i & CHUNK_MASK), value);
+    }
+
+    /**
+     * Troca os elementos das posições i e j.
+     */
+    public void swap(long i, long j) {
+        double temp = get(i);
+        set(i, get(j));
+        set(j, temp);
+    }
+
+    /**
+     * Copia para um array do heap (só para tamanhos que cabem em um double[]).
+     */
+    public double[] toArray() {
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Grande demais para um double[]: " + length);
+        }
+        double[] values = new double[(int) length];
+        for (int c = 0; c < chunks.length; c++) {
+            chunks[c].get(0, values, (int) (c * CHUNK_SIZE), chunks[c].capacity());
+        }
+        return values;
+    }
+
+    /**
+     * Grava no disco as alterações de um array mapeado (sem efeito em memória direta).
+     */
+    public void force() {
+        if (mapped == null) return;
+        for (MappedByteBuffer buffer : mapped) {
+            buffer.force();
+        }
+    }
+
+    private static int chunkCount(long n) {
+        if (n < 0) throw new IllegalArgumentException("Tamanho negativo: " + n);
+        long count = (n + CHUNK_SIZE - 1) >>> CHUNK_SHIFT;
+        if (count > Integer.MAX_VALUE) throw new IllegalArgumentException("Tamanho grande demais: " + n);
+        return (int) count;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,188 @@
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Ordenação de dados fora do heap ({@link OffHeapDoubleArray}), no próprio lugar.
+ * * **Algoritmo:** O mesmo do modo ajustado do SmartSort (pivô por mediana/ninther,
+ * partição de Hoare, Insertion Sort nas folhas e recursão só na partição menor), mas com
+ * índices long. O fallback de profundidade é o Heap Sort, e não o Merge Sort, porque o
+ * Merge Sort precisaria de um buffer auxiliar de n posições.
+ * * **Ordem total:** A mesma de {@code Arrays.sort} e do SmartSort: os NaN vão para o final e
+ * cada -0.0 vira 0.0 antes da ordenação por comparação, sendo restaurado no início do bloco de
+ * zeros depois (ver {@link SmartSort#sortInTotalOrder}).
+ * * **Memória:** O(1) no heap, independente do tamanho dos dados; a pilha é O(log n).
+ */
+public class OffHeapSort {
+
+    private static final long NEGATIVE_ZERO_BITS = Double.doubleToRawLongBits(-0.0);
+
+    /**
+     * Ordena todo o array fora do heap.
+     */
+    public static void sort(OffHeapDoubleArray arr) {
+        long n = arr.length();
+        if (n < 2) return;
+        long last = moveNaNsToEnd(arr, n - 1);
+        long negativeZeros = clearNegativeZeros(arr, last);
+        if (last > 0) {
+            int depthLimit = 2 * (63 - Long.numberOfLeadingZeros(last + 1));
+            introSort(arr, 0, last, 0, depthLimit);
+        }
+        restoreNegativeZeros(arr, last, negativeZeros);
+    }
+
+    /**
+     * Ordena um arquivo binário de doubles (formato do ExternalSort) no próprio arquivo,
+     * mapeando-o em memória em vez de carregá-lo no heap.
+     */
+    public static void sortFile(Path file) throws IOException {
+        OffHeapDoubleArray arr = OffHeapDoubleArray.map(file);
+        sort(arr);
+        arr.force();
+    }
+
+    /**
+     * Move os NaN de arr[0..high] para o final.
+     * @return O índice do último valor que não é NaN (-1 se todos forem NaN).
+     */
+    private static long moveNaNsToEnd(OffHeapDoubleArray arr, long high) {
+        long last = high;
+        while (last >= 0 && Double.isNaN(arr.get(last))) last--;
+        for (long i = last - 1; i >= 0; i--) {
+            if (Double.isNaN(arr.get(i))) {
+                arr.set(i, arr.get(last));
+                arr.set(last--, Double.NaN);
+            }
+        }
+        return last;
+    }
+
+    /**
+     * Troca cada -0.0 de arr[0..high] por 0.0 e retorna quantos havia.
+     */
+    private static long clearNegativeZeros(OffHeapDoubleArray arr, long high) {
+        long negativeZeros = 0;
+        for (long i = 0; i <= high; i++) {
+            if (Double.doubleToRawLongBits(arr.get(i)) == NEGATIVE_ZERO_BITS) {
+                arr.set(i, 0.0);
+                negativeZeros++;
+            }
+        }
+        return negativeZeros;
+    }
+
+    /**
+     * Devolve o sinal aos 'count' primeiros zeros de arr[0..high] (já ordenado).
+     */
+    private static void restoreNegativeZeros(OffHeapDoubleArray arr, long high, long count) {
+        for (long i = 0; count > 0 && i <= high; i++) {
+            if (arr.get(i) == 0.0) {
+                arr.set(i, -0.0);
+                count--;
+            }
+        }
+    }
+
+    private static void introSort(OffHeapDoubleArray arr, long low, long high, int depth, int depthLimit) {
+        while (high - low + 1 > SmartSort.DEFAULT_INSERTION_THRESHOLD) {
+            if (depth > depthLimit) {
+                heapSort(arr, low, high);
+                return;
+            }
+            depth++;
+
+            arr.swap(low, choosePivot(arr, low, high));
+            long pi = hoarePartition(arr, low, high);
+
+            if (pi - low < high - pi) {
+                introSort(arr, low, pi - 1, depth, depthLimit);
+                low = pi + 1;
+            } else {
+                introSort(arr, pi + 1, high, depth, depthLimit);
+                high = pi - 1;
+            }
+        }
+        insertionSort(arr, low, high);
+    }
+
+    private static long choosePivot(OffHeapDoubleArray arr, long low, long high) {
+        long n = high - low + 1;
+        long mid = low + (n >>> 1);
+        if (n <= SmartSort.NINTHER_THRESHOLD) {
+            return medianOfThree(arr, low, mid, high);
+        }
+        long eps = n >>> 3;
+        long a = medianOfThree(arr, low, low + eps, low + 2 * eps);
+        long b = medianOfThree(arr, mid - eps, mid, mid + eps);
+        long c = medianOfThree(arr, high - 2 * eps, high - eps, high);
+        return medianOfThree(arr, a, b, c);
+    }
+
+    private static long medianOfThree(OffHeapDoubleArray arr, long i, long j, long k) {
+        double a = arr.get(i);
+        double b = arr.get(j);
+        double c = arr.get(k);
+        if (a < b) {
+            if (b < c) return j;
+            return a < c ? k : i;
+        }
+        if (c < b) return j;
+        return c < a ? k : i;
+    }
+
+    private static long hoarePartition(OffHeapDoubleArray arr, long low, long high) {
+        double pivot = arr.get(low);
+        long i = low;
+        long j = high + 1;
+        while (true) {
+            while (arr.get(++i) < pivot) {
+                if (i == high) break;
+            }
+            while (pivot < arr.get(--j)) {
+                // arr[low] == pivot funciona como sentinela para j
+            }
+            if (i >= j) break;
+            arr.swap(i, j);
+        }
+        arr.swap(low, j);
+        return j;
+    }
+
+    private static void insertionSort(OffHeapDoubleArray arr, long low, long high) {
+        for (long i = low + 1; i <= high; i++) {
+            double value = arr.get(i);
+            long j = i - 1;
+            while (j >= low && arr.get(j) > value) {
+                arr.set(j + 1, arr.get(j));
+                j--;
+            }
+            arr.set(j + 1, value);
+        }
+    }
+
+    private static void heapSort(OffHeapDoubleArray arr, long low, long high) {
+        long n = high - low + 1;
+        for (long i = n / 2 - 1; i >= 0; i--) {
+            siftDown(arr, low, i, n);
+        }
+        for (long end = n - 1; end > 0; end--) {
+            arr.swap(low, low + end);
+            siftDown(arr, low, 0, end);
+        }
+    }
+
+    private static void siftDown(OffHeapDoubleArray arr, long offset, long i, long size) {
+        double value = arr.get(offset + i);
+        long half = size / 2;
+        while (i < half) {
+            long child = 2 * i + 1;
+            if (child + 1 < size && arr.get(offset + child + 1) > arr.get(offset + child)) {
+                child++;
+            }
+            if (value >= arr.get(offset + child)) break;
+            arr.set(offset + i, arr.get(offset + child));
+            i = child;
+        }
+        arr.set(offset + i, value);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,209 @@
+import java.util.Arrays;
+
+/**
+ * Seleção de estatísticas de ordem (k-ésimo menor, top-k, percentis) sem ordenar o array inteiro.
+ * * **Ideia:** Reaproveita a partição do SmartSort (pivô por mediana/ninther + Hoare), mas só
+ * continua no lado que contém a posição procurada — o outro lado é descartado.
+ * * **Introselect:** Se a profundidade passar de 2 * log2(n) (pivôs ruins), troca o pivô pela
+ * mediana das medianas (BFPRT), o que garante pior caso linear.
+ * * **Ordem total:** Segue a ordem de Double.compare, a mesma do SmartSort: antes de particionar,
+ * os NaN vão para o fim (uma passada) e a seleção roda só em [0, n - qtdNaN); -0.0 é tratado
+ * como 0.0 e restaurado depois, ficando antes de 0.0. Posições na faixa dos NaN retornam NaN.
+ * * **Complexidade de Tempo:** O(n) para select e para vários quantis de uma vez
+ * (O(n log q) para q quantis); partialSort é O(n + k log k).
+ */
+public class QuickSelect {
+
+    // Subarrays deste tamanho ou menores são resolvidos com Insertion Sort
+    private static final int INSERTION_THRESHOLD = 16;
+
+    /**
+     * Reorganiza o array de modo que arr[k] seja o valor que estaria na posição k se o array
+     * estivesse ordenado; à esquerda ficam valores <= arr[k] e à direita valores >= arr[k].
+     * @param arr O array (modificado no lugar).
+     * @param k A posição desejada (base zero), de 0 a n-1.
+     * @return O k-ésimo menor valor.
+     */
+    public static double select(double[] arr, int k) {
+        checkIndex(arr, k);
+        int last = SmartSort.moveNaNsToEnd(arr, 0, arr.length - 1);
+        if (k <= last) {
+            int negativeZeros = SmartSort.clearNegativeZeros(arr, 0, last);
+            selectRange(arr, 0, last, k, 0, SmartSort.depthLimit(last + 1));
+            SmartSort.restoreNegativeZeros(arr, 0, last, negativeZeros);
+        }
+        return arr[k];
+    }
+
+    /**
+     * Ordena apenas os k menores valores, que ficam em arr[0..k-1] em ordem crescente.
+     * O restante do array fica em ordem indefinida.
+     */
+    public static void partialSort(double[] arr, int k) {
+        if (k <= 0) return;
+        if (k > arr.length) k = arr.length;
+        if (k < arr.length) {
+            select(arr, k - 1);
+        }
+        SmartSort.sortTuned(arr, 0, k - 1);
+    }
+
+    /**
+     * Retorna os k maiores valores em ordem decrescente (ex.: top 100), sem alterar o array.
+     */
+    public static double[] topK(double[] arr, int k) {
+        int n = arr.length;
+        k = Math.max(0, Math.min(k, n));
+        double[] copy = arr.clone();
+        if (k == 0) return new double[0];
+        if (k < n) {
+            select(copy, n - k);
+        }
+        double[] result = Arrays.copyOfRange(copy, n - k, n);
+        SmartSort.sortTuned(result);
+        for (int i = 0, j = k - 1; i < j; i++, j--) {
+            double temp = result[i];
+            result[i] = result[j];
+            result[j] = temp;
+        }
+        return result;
+    }
+
+    /**
+     * Seleciona várias posições em uma única passada recursiva: ao final, arr[k] está na
+     * posição ordenada para cada k pedido. Cada partição divide as posições pedidas entre
+     * os dois lados, e lados sem nenhuma posição pedida são descartados.
+     * @param arr O array (modificado no lugar).
+     * @param ks As posições desejadas (base zero), em qualquer ordem.
+     * @return Os valores nas posições pedidas, na mesma ordem de ks.
+     */
+    public static double[] selectAll(double[] arr, int... ks) {
+        for (int k : ks) checkIndex(arr, k);
+        int[] sorted = ks.clone();
+        Arrays.sort(sorted);
+        if (sorted.length > 0) {
+            int last = SmartSort.moveNaNsToEnd(arr, 0, arr.length - 1);
+            // Posições depois de 'last' já estão no lugar (são NaN)
+            int kHi = sorted.length - 1;
+            while (kHi >= 0 && sorted[kHi] > last) kHi--;
+            if (kHi >= 0) {
+                int negativeZeros = SmartSort.clearNegativeZeros(arr, 0, last);
+                multiSelect(arr, 0, last, sorted, 0, kHi, 0, SmartSort.depthLimit(last + 1));
+                SmartSort.restoreNegativeZeros(arr, 0, last, negativeZeros);
+            }
+        }
+
+        double[] values = new double[ks.length];
+        for (int i = 0; i < ks.length; i++) values[i] = arr[ks[i]];
+        return values;
+    }
+
+    /**
+     * Calcula vários quantis de uma vez (ex.: 0.5, 0.9, 0.99 para p50/p90/p99).
+     * Usa o posto mais próximo: o quantil q é o valor na posição round(q * (n - 1)).
+     * @param arr O array (modificado no lugar).
+     * @param qs Os quantis, entre 0 e 1.
+     * @return Os valores dos quantis, na mesma ordem de qs.
+     */
+    public static double[] quantiles(double[] arr, double... qs) {
+        if (arr.length == 0) {
+            throw new IllegalArgumentException("Array vazio");
+        }
+        int[] ks = new int[qs.length];
+        for (int i = 0; i < qs.length; i++) {
+            if (!(qs[i] >= 0 && qs[i] <= 1)) {
+                throw new IllegalArgumentException("Quantil fora de [0, 1]: " + qs[i]);
+            }
+            ks[i] = (int) Math.round(qs[i] * (arr.length - 1));
+        }
+        return selectAll(arr, ks);
+    }
+
+    // =======================================================
+    // INTROSELECT
+    // =======================================================
+
+    /**
+     * Seleção iterativa em arr[low..high]: particiona e continua só no lado que contém k.
+     */
+    private static void selectRange(double[] arr, int low, int high, int k, int depth, int depthLimit) {
+        while (high - low + 1 > INSERTION_THRESHOLD) {
+            int pi = partition(arr, low, high, depth++ > depthLimit);
+            if (k == pi) return;
+            if (k < pi) {
+                high = pi - 1;
+            } else {
+                low = pi + 1;
+            }
+        }
+        InsertionSort.sort(arr, low, high);
+    }
+
+    /**
+     * Seleção múltipla: ks[kLo..kHi] (ordenado) são as posições pedidas dentro de arr[low..high].
+     */
+    private static void multiSelect(double[] arr, int low, int high, int[] ks, int kLo, int kHi,
+                                    int depth, int depthLimit) {
+        while (kLo <= kHi) {
+            if (high - low + 1 <= INSERTION_THRESHOLD) {
+                InsertionSort.sort(arr, low, high);
+                return;
+            }
+            int pi = partition(arr, low, high, depth++ > depthLimit);
+
+            // Divide as posições pedidas: [kLo..m-1] < pi, [m..kHi] >= pi
+            int m = kLo;
+            while (m <= kHi && ks[m] < pi) m++;
+
+            // Esquerda por recursão, direita no próprio laço
+            if (m > kLo) {
+                multiSelect(arr, low, pi - 1, ks, kLo, m - 1, depth, depthLimit);
+            }
+            while (m <= kHi && ks[m] == pi) m++; // Já está no lugar
+            kLo = m;
+            low = pi + 1;
+        }
+    }
+
+    /**
+     * Escolhe o pivô (ninther do SmartSort ou, se os pivôs estiverem ruins, mediana das medianas),
+     * particiona arr[low..high] e retorna a posição final do pivô.
+     */
+    private static int partition(double[] arr, int low, int high, boolean medianOfMedians) {
+        int pivotIndex = medianOfMedians ? medianOfMedians(arr, low, high) : SmartSort.choosePivot(arr, low, high);
+        swap(arr, low, pivotIndex);
+        return SmartSort.hoarePartition(arr, low, high);
+    }
+
+    /**
+     * Mediana das medianas (BFPRT): separa em grupos de 5, leva a mediana de cada grupo para o
+     * início do subarray e seleciona recursivamente a mediana delas.
+     * O pivô resultante garante que cada lado da partição tenha pelo menos ~30% dos elementos.
+     * @return O índice do pivô escolhido.
+     */
+    private static int medianOfMedians(double[] arr, int low, int high) {
+        int groups = 0;
+        for (int start = low; start <= high; start += 5) {
+            int end = Math.min(start + 4, high);
+            InsertionSort.sort(arr, start, end);
+            swap(arr, low + groups, start + (end - start) / 2);
+            groups++;
+        }
+        int mid = low + (groups - 1) / 2;
+        // A seleção das medianas também usa BFPRT (limite de profundidade já estourado)
+        selectRange(arr, low, low + groups - 1, mid, 1, 0);
+        return mid;
+    }
+
+    private static void checkIndex(double[] arr, int k) {
+        if (k < 0 || k >= arr.length) {
+            throw new IllegalArgumentException("Posição " + k + " fora do array de tamanho " + arr.length);
+        }
+    }
+
+    private static void swap(double[] arr, int i, int j) {
+        double temp = arr[i];
+        arr[i] = arr[j];
+        arr[j] = temp;
+    }
+}
@@ -7,25 +7,78 @@
  * o que é essencial para o nosso teste de comparação assintótica no projeto.
  * * * **Complexidade de Tempo:** * - Melhor Caso (e Médio): $\text{O}(n \log n)$
  * - Pior Caso: $\text{O}(n^2)$
+ * * **Variante Três Vias:** {@link #sortThreeWay(double[], int, int)} usa a partição de
+ * Dijkstra (Dutch National Flag), que agrupa as chaves iguais ao pivot no centro e as
+ * exclui da recursão. Em colunas com poucos valores distintos isso evita a degradação.
+ * * **Entrada sem NaN:** As duas variantes comparam com {@code <}; para NaN e -0.0 na ordem
+ * de Arrays.sort use os modos do SmartSort.
  */
 public class QuickSort {
 
     /**
-     * Ponto de entrada recursivo da fase de **"Divisão"** do Quick Sort.
+     * Ponto de entrada do Quick Sort.
      * @param arr O array a ser ordenado.
      * @param low O índice inicial do subarray (limite inferior).
      * @param high O índice final do subarray (limite superior).
      */
     public static void sort(double[] arr, int low, int high) {
+        if (SortMetrics.ENABLED) SortMetrics.begin("QUICK", high - low + 1);
+        try {
+            quickSort(arr, low, high, 0);
+        } finally {
+            if (SortMetrics.ENABLED) SortMetrics.end();
+        }
+    }
+
+    /**
+     * Fase recursiva de **"Divisão"** do Quick Sort.
+     * @param depth Profundidade da recursão (usada apenas pelas métricas).
+     */
+    private static void quickSort(double[] arr, int low, int high, int depth) {
         // Caso base da recursão: continua enquanto o subarray for válido (low < high)
         if (low < high) {
+            if (SortMetrics.ENABLED) SortMetrics.depth(depth);
+
             // Chama a Partição para reordenar o subarray e obter o índice final do pivot
             int pi = partition(arr, low, high); // pi é o índice de partição, arr[pi] está agora no lugar certo
             
             // 1. DIVIDE: Ordena recursivamente os elementos à esquerda do pivot
-            sort(arr, low, pi - 1);
+            quickSort(arr, low, pi - 1, depth + 1);
             // 2. DIVIDE: Ordena recursivamente os elementos à direita do pivot
-            sort(arr, pi + 1, high);
+            quickSort(arr, pi + 1, high, depth + 1);
+        }
+    }
+
+    /**
+     * Quick Sort com **Partição em Três Vias** (Dutch National Flag).
+     * O pivot continua sendo o último elemento, mas o subarray é dividido em
+     * [menores | iguais | maiores] em uma única passada. Os iguais já ficam na
+     * posição final e não participam da recursão.
+     * @param arr O array a ser ordenado.
+     * @param low O índice inicial do subarray (limite inferior).
+     * @param high O índice final do subarray (limite superior).
+     */
+    public static void sortThreeWay(double[] arr, int low, int high) {
+        if (low < high) {
+            double pivot = arr[high];
+            // Invariante: arr[low..lt-1] < pivot, arr[lt..i-1] == pivot, arr[gt+1..high] > pivot
+            int lt = low;
+            int i = low;
+            int gt = high;
+
+            while (i <= gt) {
+                if (arr[i] < pivot) {
+                    swap(arr, lt++, i++);
+                } else if (arr[i] > pivot) {
+                    swap(arr, i, gt--); // O elemento trazido de gt ainda não foi examinado
+                } else {
+                    i++;
+                }
+            }
+
+            // Recursão apenas nas regiões estritamente menores e maiores
+            sortThreeWay(arr, low, lt - 1);
+            sortThreeWay(arr, gt + 1, high);
         }
     }
 
@@ -71,6 +124,9 @@ public class QuickSort {
         // Isso coloca o pivot na sua posição final correta.
         swap(arr, i + 1, high);
 
+        // Métricas: uma comparação por elemento e uma troca por elemento <= pivot (mais a do pivot)
+        if (SortMetrics.ENABLED) SortMetrics.partition(high - low, i - low + 2);
+
         // Retorna o índice final do pivot
         return i + 1;
     }
@@ -0,0 +1,114 @@
+/**
+ * Implementação do Radix Sort LSD (Least Significant Digit) para double[].
+ * * **Ideia:** Não compara valores. Cada double é convertido em um long cuja ordem
+ * (sem sinal) é a mesma ordem numérica do double, e os longs são distribuídos em
+ * baldes dígito a dígito, do menos significativo para o mais significativo.
+ * * **Complexidade de Tempo:** O(n * passadas), ou seja, linear em n.
+ * * **Memória:** 2 arrays long[] de tamanho n (chaves e destino da distribuição).
+ * * **Ordenação:** Igual a {@link java.util.Arrays#sort(double[])}: -0.0 vem antes de 0.0
+ * e NaN fica no final (todo NaN é normalizado para o NaN canônico).
+ */
+public class RadixSort {
+
+    // Dígitos de 11 bits: 6 passadas cobrem os 64 bits (a última com 9 bits)
+    private static final int RADIX_BITS = 11;
+    private static final int RADIX = 1 << RADIX_BITS;
+    private static final int MASK = RADIX - 1;
+    private static final int PASSES = (Long.SIZE + RADIX_BITS - 1) / RADIX_BITS;
+
+    /**
+     * Ordena o array inteiro.
+     */
+    public static void sort(double[] arr) {
+        sort(arr, 0, arr.length - 1);
+    }
+
+    /**
+     * Ordena arr[low..high].
+     * 1. Converte cada valor para a chave ordenável e monta todos os histogramas em uma passada.
+     * 2. Para cada dígito, distribui as chaves de forma estável; dígitos iguais em todas as
+     *    chaves são pulados (comum nos bits altos de colunas com faixa de valores pequena).
+     * 3. Converte as chaves de volta para double.
+     * @param arr O array a ser ordenado.
+     * @param low O índice inicial do subarray.
+     * @param high O índice final do subarray.
+     */
+    public static void sort(double[] arr, int low, int high) {
+        int n = high - low + 1;
+        if (n < 2) return;
+
+        if (SortMetrics.ENABLED) SortMetrics.begin("RADIX", n);
+        try {
+            radixSort(arr, low, n);
+        } finally {
+            if (SortMetrics.ENABLED) SortMetrics.end();
+        }
+    }
+
+    /**
+     * Núcleo do Radix Sort sobre os n elementos a partir de arr[low].
+     */
+    private static void radixSort(double[] arr, int low, int n) {
+        long[] keys = new long[n];
+        long[] aux = new long[n];
+        int[][] counts = new int[PASSES][RADIX];
+        if (SortMetrics.ENABLED) SortMetrics.scratch(2L * n * Long.BYTES + (long) PASSES * RADIX * Integer.BYTES);
+
+        // 1. Transformação + histogramas de todos os dígitos
+        for (int i = 0; i < n; i++) {
+            long key = toSortableBits(arr[low + i]);
+            keys[i] = key;
+            for (int p = 0; p < PASSES; p++) {
+                counts[p][(int) (key >>> (p * RADIX_BITS)) & MASK]++;
+            }
+        }
+
+        // 2. Distribuição estável dígito a dígito
+        long[] src = keys;
+        long[] dst = aux;
+        for (int p = 0; p < PASSES; p++) {
+            int shift = p * RADIX_BITS;
+            int[] count = counts[p];
+
+            // Todas as chaves têm o mesmo dígito: a passada não mudaria nada
+            if (count[(int) (src[0] >>> shift) & MASK] == n) continue;
+
+            // Soma de prefixos: count[d] passa a ser a primeira posição do balde d
+            int sum = 0;
+            for (int d = 0; d < RADIX; d++) {
+                int c = count[d];
+                count[d] = sum;
+                sum += c;
+            }
+
+            for (int i = 0; i < n; i++) {
+                long key = src[i];
+                dst[count[(int) (key >>> shift) & MASK]++] = key;
+            }
+
+            long[] t = src; src = dst; dst = t;
+        }
+
+        // 3. Volta para double
+        for (int i = 0; i < n; i++) {
+            arr[low + i] = fromSortableBits(src[i]);
+        }
+    }
+
+    /**
+     * Converte um double (IEEE-754) em um long cuja ordem sem sinal é a ordem numérica.
+     * Positivos: inverte apenas o bit de sinal. Negativos: inverte todos os bits
+     * (assim negativos de maior magnitude ficam menores).
+     */
+    static long toSortableBits(double value) {
+        long bits = Double.doubleToLongBits(value); // Normaliza NaN
+        return bits ^ ((bits >> 63) | Long.MIN_VALUE);
+    }
+
+    /**
+     * Inversa de {@link #toSortableBits(double)}.
+     */
+    static double fromSortableBits(long key) {
+        return Double.longBitsToDouble(key ^ ((~key >> 63) | Long.MIN_VALUE));
+    }
+}
\ No newline at end of file
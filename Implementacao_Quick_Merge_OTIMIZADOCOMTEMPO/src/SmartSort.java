@@ -1,3 +1,8 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
 /**
  * SmartSort (Híbrido - Introsort Simplificado).
  * * ESTRATÉGIA:
@@ -8,18 +13,423 @@
  * * RESULTADO:
  * - Mantém a velocidade do Quick Sort no caso médio.
  * - Garante a estabilidade O(n log n) do Merge Sort no pior caso.
+ * * * MODO AJUSTADO (Introsort completo):
+ * - {@link #sortTuned(double[], int)} escolhe o pivô pela mediana de três (ou ninther em
+ * subarrays grandes), usa Insertion Sort abaixo de um limite, troca para Heap Sort
+ * (in-place, O(1) de memória extra) ao exceder a profundidade e itera sobre a maior
+ * partição em vez de recursar, mantendo a pilha em O(log n).
+ * * MODO ADAPTATIVO:
+ * - {@link #sortAdaptive(double[])} faz uma pré-passada contando trechos crescentes e
+ * decrescentes. Trechos decrescentes são invertidos no lugar; se houver poucos trechos,
+ * eles são mesclados naturalmente (O(n) em dados ordenados, reversos ou quase ordenados).
+ * Se os dados parecerem aleatórios, segue para o modo ajustado ou, em arrays grandes,
+ * para o Radix Sort (tempo linear, sem comparações).
+ * * OUTROS TIPOS:
+ * - O modo adaptativo também existe para int[], long[] e float[] (código especializado por
+ * tipo, sem boxing) e para objetos ordenados por uma chave numérica
+ * ({@link #sortByDouble}, {@link #sortByLong}).
+ * * MODO TRÊS VIAS:
+ * - {@link #sortThreeWay(double[])} troca a partição de Lomuto pela de Dijkstra
+ * (menores | iguais | maiores). Chaves repetidas ficam na posição final em uma passada,
+ * o que mantém a recursão rasa em colunas com poucos valores distintos.
+ * * MODO PARALELO:
+ * - {@link #parallelSort(double[], ForkJoinPool, int)} divide o trabalho em cada
+ * partição e ordena as duas metades em tarefas Fork/Join independentes.
+ * * ORDEM TOTAL (NaN e -0.0):
+ * - Os modos acima e as demais classes da biblioteca (BlockQuickSort, HeapSort, OffHeapSort,
+ * ExternalSort, QuickSelect, SortedColumn, ArgSort) seguem a ordem de {@code Arrays.sort}:
+ * -0.0 antes de 0.0 e NaN no final (ver {@link #sortInTotalOrder}).
+ * - Limite: {@link #sort(double[])} original e as referências medidas no benchmark
+ * (MergeSort.sort, QuickSort, InsertionSort) comparam com {@code <} e ficam como estão;
+ * com NaN na entrada o resultado deles não é definido.
  */
 public class SmartSort {
 
+    /**
+     * Tamanho mínimo de subarray para continuar dividindo em tarefas paralelas.
+     * Abaixo dele, o custo de criar tarefas supera o ganho e a ordenação segue sequencial.
+     */
+    public static final int DEFAULT_SEQUENTIAL_CUTOFF = 1 << 13;
+
+    /**
+     * Tamanho de subarray abaixo do qual o modo ajustado usa Insertion Sort.
+     */
+    public static final int DEFAULT_INSERTION_THRESHOLD = 24;
+
+    /**
+     * A partir deste tamanho o pivô é a "ninther" (mediana de três medianas) em vez da mediana de três.
+     */
+    static final int NINTHER_THRESHOLD = 40;
+
+    /**
+     * Máximo de trechos ordenados para o modo adaptativo usar a mesclagem natural.
+     * Acima disso os dados são tratados como aleatórios.
+     */
+    public static final int MAX_RUN_COUNT = 64;
+
+    /**
+     * Tamanho a partir do qual o modo adaptativo usa Radix Sort nos dados aleatórios.
+     */
+    public static final int DEFAULT_RADIX_THRESHOLD = 1 << 16;
+
+    // Bits de -0.0, para distingui-lo de 0.0 (que é igual a ele na comparação com ==)
+    private static final long NEGATIVE_ZERO_BITS = Double.doubleToRawLongBits(-0.0);
+
     /**
      * Ponto de entrada do algoritmo.
      * Calcula o limite de profundidade e inicia a recursão.
      */
     public static void sort(double[] arr) {
-        // Calcula log2(n)
-        int depthLimit = (int) (2 * Math.floor(Math.log(arr.length) / Math.log(2)));
+        if (SortMetrics.ENABLED) SortMetrics.begin("SMART", arr.length);
+        try {
+            smartSortRecursive(arr, 0, arr.length - 1, 0, depthLimit(arr.length));
+        } finally {
+            if (SortMetrics.ENABLED) SortMetrics.end();
+        }
+    }
+
+    /**
+     * Modo ajustado (Introsort) com o limite padrão de Insertion Sort.
+     */
+    public static void sortTuned(double[] arr) {
+        sortTuned(arr, DEFAULT_INSERTION_THRESHOLD);
+    }
+
+    /**
+     * Modo ajustado (Introsort): pivô por mediana, Insertion Sort nas folhas e Heap Sort
+     * como fallback. Pior caso O(n log n) com O(1) de memória extra e pilha O(log n).
+     * @param arr O array a ser ordenado.
+     * @param insertionThreshold Subarrays com até este tamanho são ordenados por Insertion Sort.
+     */
+    public static void sortTuned(double[] arr, int insertionThreshold) {
+        if (insertionThreshold < 1) {
+            throw new IllegalArgumentException("O limite do Insertion Sort deve ser >= 1: " + insertionThreshold);
+        }
+        if (SortMetrics.ENABLED) SortMetrics.begin("SMART_TUNED", arr.length);
+        try {
+            sortInTotalOrder(arr, 0, arr.length - 1,
+                    (a, lo, hi) -> introSort(a, lo, hi, 0, depthLimit(hi - lo + 1), insertionThreshold));
+        } finally {
+            if (SortMetrics.ENABLED) SortMetrics.end();
+        }
+    }
+
+    /**
+     * Modo ajustado aplicado apenas a arr[low..high] (limite padrão de Insertion Sort).
+     * @param arr O array que contém o subarray.
+     * @param low O índice inicial do subarray.
+     * @param high O índice final do subarray.
+     */
+    public static void sortTuned(double[] arr, int low, int high) {
+        if (SortMetrics.ENABLED) SortMetrics.begin("SMART_TUNED", high - low + 1);
+        try {
+            sortInTotalOrder(arr, low, high,
+                    (a, lo, hi) -> introSort(a, lo, hi, 0, depthLimit(hi - lo + 1), DEFAULT_INSERTION_THRESHOLD));
+        } finally {
+            if (SortMetrics.ENABLED) SortMetrics.end();
+        }
+    }
+
+    /**
+     * Modo adaptativo: detecta ordem pré-existente antes de escolher o algoritmo.
+     * 1. Percorre o array identificando trechos crescentes (não decrescentes) e
+     *    estritamente decrescentes; os decrescentes são invertidos no lugar.
+     * 2. Um único trecho: o array já está ordenado.
+     * 3. Até MAX_RUN_COUNT trechos: mesclagem natural dos trechos.
+     * 4. Mais trechos que isso: dados aleatórios, segue para o modo ajustado
+     *    (ou Radix Sort a partir de DEFAULT_RADIX_THRESHOLD elementos).
+     */
+    public static void sortAdaptive(double[] arr) {
+        sortAdaptive(arr, DEFAULT_RADIX_THRESHOLD);
+    }
+
+    /**
+     * Modo adaptativo com limite configurável para o Radix Sort.
+     * @param arr O array a ser ordenado.
+     * @param radixThreshold Arrays aleatórios com pelo menos este tamanho usam Radix Sort.
+     */
+    public static void sortAdaptive(double[] arr, int radixThreshold) {
+        if (SortMetrics.ENABLED) SortMetrics.begin("SMART_ADAPTIVE", arr.length);
+        try {
+            sortInTotalOrder(arr, 0, arr.length - 1, (a, lo, hi) -> adaptiveSort(a, hi + 1, radixThreshold));
+        } finally {
+            if (SortMetrics.ENABLED) SortMetrics.end();
+        }
+    }
+
+    /**
+     * Núcleo do modo adaptativo (pré-passada de trechos e escolha do algoritmo)
+     * aplicado aos n primeiros elementos.
+     */
+    private static void adaptiveSort(double[] arr, int n, int radixThreshold) {
+        if (n < 2) return;
+
+        int[] runs = new int[MAX_RUN_COUNT + 1];
+        int runCount = 0;
+        int start = 0;
+        while (start < n) {
+            // Muitos trechos: desiste da pré-passada (a inversão feita até aqui não atrapalha)
+            if (runCount == MAX_RUN_COUNT) {
+                if (n >= radixThreshold) {
+                    RadixSort.sort(arr, 0, n - 1);
+                } else {
+                    introSort(arr, 0, n - 1, 0, depthLimit(n), DEFAULT_INSERTION_THRESHOLD);
+                }
+                return;
+            }
+            runs[runCount++] = start;
+            start = findRunEnd(arr, start, n);
+        }
+        runs[runCount] = n;
+
+        MergeSort.mergeRuns(arr, runs, runCount);
+    }
+
+    /**
+     * Modo adaptativo para int[] (mesma escolha de algoritmo do double[]).
+     */
+    public static void sortAdaptive(int[] arr) {
+        SmartSortInts.sortAdaptive(arr, DEFAULT_RADIX_THRESHOLD);
+    }
+
+    /**
+     * Modo adaptativo para int[] com limite configurável para o Radix Sort.
+     */
+    public static void sortAdaptive(int[] arr, int radixThreshold) {
+        SmartSortInts.sortAdaptive(arr, radixThreshold);
+    }
+
+    /**
+     * Modo adaptativo para long[] (ex.: timestamps).
+     */
+    public static void sortAdaptive(long[] arr) {
+        SmartSortLongs.sortAdaptive(arr, DEFAULT_RADIX_THRESHOLD);
+    }
+
+    /**
+     * Modo adaptativo para long[] com limite configurável para o Radix Sort.
+     */
+    public static void sortAdaptive(long[] arr, int radixThreshold) {
+        SmartSortLongs.sortAdaptive(arr, radixThreshold);
+    }
+
+    /**
+     * Modo adaptativo para float[].
+     */
+    public static void sortAdaptive(float[] arr) {
+        SmartSortFloats.sortAdaptive(arr, DEFAULT_RADIX_THRESHOLD);
+    }
+
+    /**
+     * Modo adaptativo para float[] com limite configurável para o Radix Sort.
+     */
+    public static void sortAdaptive(float[] arr, int radixThreshold) {
+        SmartSortFloats.sortAdaptive(arr, radixThreshold);
+    }
+
+    /**
+     * Ordena objetos por uma chave double, de forma estável.
+     * A chave é extraída uma única vez por objeto para um array paralelo; a ordenação
+     * compara apenas os doubles (nenhum Comparator é chamado durante as comparações).
+     * @param items Os objetos a ordenar (reordenados no próprio array).
+     * @param keyExtractor Função que devolve a chave de cada objeto.
+     */
+    public static <T> void sortByDouble(T[] items, ToDoubleFunction<? super T> keyExtractor) {
+        double[] keys = new double[items.length];
+        for (int i = 0; i < items.length; i++) {
+            keys[i] = keyExtractor.applyAsDouble(items[i]);
+        }
+        applyPermutation(items, ArgSort.argsort(keys));
+    }
+
+    /**
+     * Ordena objetos por uma chave long, de forma estável (mesma estratégia de
+     * {@link #sortByDouble(Object[], ToDoubleFunction)}, sem perder precisão acima de 2^53).
+     */
+    public static <T> void sortByLong(T[] items, ToLongFunction<? super T> keyExtractor) {
+        long[] keys = new long[items.length];
+        for (int i = 0; i < items.length; i++) {
+            keys[i] = keyExtractor.applyAsLong(items[i]);
+        }
+        applyPermutation(items, ArgSort.argsort(keys));
+    }
+
+    /**
+     * Reordena items segundo a permutação: items[i] = original[perm[i]].
+     */
+    private static <T> void applyPermutation(T[] items, int[] perm) {
+        T[] original = items.clone();
+        for (int i = 0; i < perm.length; i++) {
+            items[i] = original[perm[i]];
+        }
+    }
+
+    /**
+     * Encontra o fim (exclusivo) do trecho ordenado que começa em 'start'.
+     * Se o trecho for estritamente decrescente, ele é invertido para ficar crescente.
+     */
+    private static int findRunEnd(double[] arr, int start, int n) {
+        int end = start + 1;
+        if (end == n) return n;
+
+        int swaps = 0;
+        if (arr[end] < arr[start]) {
+            // Estritamente decrescente (estrito para não inverter chaves iguais)
+            while (end + 1 < n && arr[end + 1] < arr[end]) end++;
+            reverse(arr, start, end);
+            swaps = (end - start + 1) / 2;
+        } else {
+            while (end + 1 < n && arr[end + 1] >= arr[end]) end++;
+        }
+        // Métricas: uma comparação por par vizinho do trecho, mais a que o encerrou
+        if (SortMetrics.ENABLED) SortMetrics.work(end - start + (end + 1 < n ? 1 : 0), swaps);
+        return end + 1;
+    }
+
+    /**
+     * Inverte arr[low..high] no lugar.
+     */
+    private static void reverse(double[] arr, int low, int high) {
+        while (low < high) {
+            swap(arr, low++, high--);
+        }
+    }
+
+    /**
+     * Variante com partição em três vias, indicada para dados com muitas chaves repetidas.
+     * Mantém o mesmo limite de profundidade e o mesmo fallback para Merge Sort.
+     */
+    public static void sortThreeWay(double[] arr) {
+        if (SortMetrics.ENABLED) SortMetrics.begin("SMART_3WAY", arr.length);
+        try {
+            sortInTotalOrder(arr, 0, arr.length - 1,
+                    (a, lo, hi) -> smartSortThreeWayRecursive(a, lo, hi, 0, depthLimit(hi - lo + 1)));
+        } finally {
+            if (SortMetrics.ENABLED) SortMetrics.end();
+        }
+    }
+
+    /**
+     * Variante sem desvios dependentes dos dados: partição em blocos e redes de ordenação
+     * nas folhas (ver {@link BlockQuickSort}). Mesmo pivô, limite de profundidade e fallback
+     * para Heap Sort do modo ajustado.
+     */
+    public static void sortBranchless(double[] arr) {
+        BlockQuickSort.sort(arr);
+    }
+
+    /**
+     * Versão paralela usando o pool comum do Fork/Join e o corte sequencial padrão.
+     */
+    public static void parallelSort(double[] arr) {
+        parallelSort(arr, ForkJoinPool.commonPool(), DEFAULT_SEQUENTIAL_CUTOFF);
+    }
 
-        smartSortRecursive(arr, 0, arr.length - 1, 0, depthLimit);
+    /**
+     * Versão paralela do SmartSort.
+     * Cada partição gera duas tarefas (esquerda e direita do pivô) executadas no pool informado.
+     * O limite de profundidade é o mesmo da versão sequencial: ao excedê-lo, o subarray
+     * é entregue ao Merge Sort.
+     * @param arr O array a ser ordenado.
+     * @param pool O pool Fork/Join que executará as tarefas (define quantos núcleos são usados).
+     * @param sequentialCutoff Subarrays com até este tamanho são ordenados sequencialmente.
+     */
+    public static void parallelSort(double[] arr, ForkJoinPool pool, int sequentialCutoff) {
+        if (sequentialCutoff < 2) {
+            throw new IllegalArgumentException("O corte sequencial deve ser >= 2: " + sequentialCutoff);
+        }
+        if (SortMetrics.ENABLED) SortMetrics.begin("SMART_PARALLEL", arr.length);
+        try {
+            sortInTotalOrder(arr, 0, arr.length - 1, (a, lo, hi) -> {
+                if (hi - lo + 1 <= sequentialCutoff) {
+                    smartSortRecursive(a, lo, hi, 0, depthLimit(hi - lo + 1));
+                } else {
+                    SortMetrics.TaskGroup metrics = SortMetrics.ENABLED ? new SortMetrics.TaskGroup() : null;
+                    pool.invoke(new ParallelSortTask(a, lo, hi, 0, depthLimit(hi - lo + 1), sequentialCutoff, metrics));
+                    if (SortMetrics.ENABLED) metrics.join();
+                }
+            });
+        } finally {
+            if (SortMetrics.ENABLED) SortMetrics.end();
+        }
+    }
+
+    /**
+     * Ordenação de arr[low..high] por comparação, usada por {@link #sortInTotalOrder}.
+     */
+    @FunctionalInterface
+    interface RangeSorter {
+        void sort(double[] arr, int low, int high);
+    }
+
+    /**
+     * Aplica 'sorter' a arr[low..high] garantindo a mesma ordem de {@code Arrays.sort}
+     * (e do Radix Sort): -0.0 antes de 0.0 e NaN no final.
+     * Comparações com {@code <} não enxergam essa ordem (NaN é "incomparável" e desorganiza
+     * os valores finitos; -0.0 == 0.0), então, como no JDK:
+     * 1. Os NaN são movidos para o final e ficam fora da ordenação.
+     * 2. Cada -0.0 vira 0.0 durante a ordenação e é restaurado depois, no início do bloco de zeros.
+     * Os passos também servem a quem só particiona (ver {@link QuickSelect}).
+     */
+    static void sortInTotalOrder(double[] arr, int low, int high, RangeSorter sorter) {
+        int last = moveNaNsToEnd(arr, low, high);
+        int negativeZeros = clearNegativeZeros(arr, low, last);
+        if (last > low) sorter.sort(arr, low, last);
+        restoreNegativeZeros(arr, low, last, negativeZeros);
+    }
+
+    /**
+     * Move os NaN de arr[low..high] para o final do intervalo.
+     * @return O índice do último valor que não é NaN (low - 1 se todos forem NaN).
+     */
+    static int moveNaNsToEnd(double[] arr, int low, int high) {
+        int last = high;
+        while (last >= low && Double.isNaN(arr[last])) last--;
+        for (int i = last - 1; i >= low; i--) {
+            if (Double.isNaN(arr[i])) {
+                arr[i] = arr[last];
+                arr[last--] = Double.NaN;
+            }
+        }
+        return last;
+    }
+
+    /**
+     * Troca cada -0.0 de arr[low..high] por 0.0 (comparação por bits: -0.0 == 0.0 seria
+     * verdadeiro para ambos).
+     * @return Quantos zeros negativos havia.
+     */
+    static int clearNegativeZeros(double[] arr, int low, int high) {
+        int negativeZeros = 0;
+        for (int i = low; i <= high; i++) {
+            if (Double.doubleToRawLongBits(arr[i]) == NEGATIVE_ZERO_BITS) {
+                arr[i] = 0.0;
+                negativeZeros++;
+            }
+        }
+        return negativeZeros;
+    }
+
+    /**
+     * Devolve o sinal aos 'count' primeiros zeros de arr[low..high], na ordem dos índices.
+     * Em um intervalo ordenado são os primeiros do bloco de zeros; em um particionado
+     * (arr[i] <= arr[k] <= arr[j] para i < k < j) a propriedade continua valendo na ordem total,
+     * porque um zero só vira -0.0 depois de todos os zeros à sua esquerda.
+     */
+    static void restoreNegativeZeros(double[] arr, int low, int high, int count) {
+        for (int i = low; count > 0 && i <= high; i++) {
+            if (arr[i] == 0.0) {
+                arr[i] = -0.0;
+                count--;
+            }
+        }
+    }
+
+    /**
+     * Calcula o limite de profundidade 2 * log2(n).
+     */
+    static int depthLimit(int n) {
+        return (int) (2 * Math.floor(Math.log(n) / Math.log(2)));
     }
 
     /**
@@ -31,9 +441,11 @@ public class SmartSort {
             // Se a recursão for muito profunda, aborta o Quick Sort e usa Merge Sort
             // neste subarray para garantir O(n log n).
             if (depth > depthLimit) {
+                if (SortMetrics.ENABLED) SortMetrics.fallback();
                 MergeSort.sort(arr, low, high);
                 return;
             }
+            if (SortMetrics.ENABLED) SortMetrics.depth(depth);
 
             // 2. Se estiver dentro do limite, segue com a partição do Quick Sort
             int pi = partition(arr, low, high);
@@ -44,6 +456,189 @@ public class SmartSort {
         }
     }
 
+    /**
+     * Núcleo do modo ajustado.
+     * Recursão apenas na partição menor; a maior é processada no próprio laço
+     * (eliminação da chamada de cauda), o que limita a pilha a O(log n).
+     */
+    private static void introSort(double[] arr, int low, int high, int depth, int depthLimit, int insertionThreshold) {
+        while (high - low + 1 > insertionThreshold) {
+            // Profundidade excedida: Heap Sort garante O(n log n) sem memória extra
+            if (depth > depthLimit) {
+                if (SortMetrics.ENABLED) SortMetrics.fallback();
+                HeapSort.sort(arr, low, high);
+                return;
+            }
+            if (SortMetrics.ENABLED) SortMetrics.depth(depth);
+            depth++;
+
+            swap(arr, low, choosePivot(arr, low, high));
+            int pi = hoarePartition(arr, low, high);
+
+            if (pi - low < high - pi) {
+                introSort(arr, low, pi - 1, depth, depthLimit, insertionThreshold);
+                low = pi + 1;
+            } else {
+                introSort(arr, pi + 1, high, depth, depthLimit, insertionThreshold);
+                high = pi - 1;
+            }
+        }
+        // Folha: subarray pequeno
+        InsertionSort.sort(arr, low, high);
+    }
+
+    /**
+     * Retorna o índice do pivô: mediana de três (início, meio, fim) ou, em subarrays
+     * grandes, a ninther de Tukey (mediana das medianas de três trios espaçados).
+     */
+    static int choosePivot(double[] arr, int low, int high) {
+        int n = high - low + 1;
+        int mid = low + (n >>> 1);
+        if (n <= NINTHER_THRESHOLD) {
+            return medianOfThree(arr, low, mid, high);
+        }
+        int eps = n >>> 3;
+        int a = medianOfThree(arr, low, low + eps, low + 2 * eps);
+        int b = medianOfThree(arr, mid - eps, mid, mid + eps);
+        int c = medianOfThree(arr, high - 2 * eps, high - eps, high);
+        return medianOfThree(arr, a, b, c);
+    }
+
+    /**
+     * Retorna o índice (entre i, j e k) do valor mediano.
+     */
+    private static int medianOfThree(double[] arr, int i, int j, int k) {
+        if (arr[i] < arr[j]) {
+            if (arr[j] < arr[k]) return j;
+            return arr[i] < arr[k] ? k : i;
+        }
+        if (arr[k] < arr[j]) return j;
+        return arr[k] < arr[i] ? k : i;
+    }
+
+    /**
+     * Partição de Hoare com o pivô em arr[low].
+     * Os ponteiros param em elementos iguais ao pivô, o que divide bem as chaves repetidas.
+     * @return A posição final do pivô: arr[low..p-1] <= arr[p] <= arr[p+1..high].
+     */
+    static int hoarePartition(double[] arr, int low, int high) {
+        double pivot = arr[low];
+        int i = low;
+        int j = high + 1;
+        int swaps = 1;
+        while (true) {
+            while (arr[++i] < pivot) {
+                if (i == high) break;
+            }
+            while (pivot < arr[--j]) {
+                // arr[low] == pivot funciona como sentinela para j
+            }
+            if (i >= j) break;
+            swap(arr, i, j);
+            swaps++;
+        }
+        swap(arr, low, j);
+        // Cada avanço de i ou j corresponde a exatamente uma comparação
+        if (SortMetrics.ENABLED) SortMetrics.partition((i - low) + (high + 1 - j), swaps);
+        return j;
+    }
+
+    /**
+     * Mesma estratégia de smartSortRecursive, mas com a partição em três vias (Dijkstra).
+     */
+    private static void smartSortThreeWayRecursive(double[] arr, int low, int high, int depth, int depthLimit) {
+        if (low < high) {
+            if (depth > depthLimit) {
+                if (SortMetrics.ENABLED) SortMetrics.fallback();
+                MergeSort.sort(arr, low, high);
+                return;
+            }
+            if (SortMetrics.ENABLED) SortMetrics.depth(depth);
+
+            // Partição: arr[low..lt-1] < pivot, arr[lt..gt] == pivot, arr[gt+1..high] > pivot
+            double pivot = arr[high];
+            int lt = low;
+            int i = low;
+            int gt = high;
+            while (i <= gt) {
+                if (arr[i] < pivot) {
+                    swap(arr, lt++, i++);
+                } else if (arr[i] > pivot) {
+                    swap(arr, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+            // Cada elemento é comparado uma vez com '<' e, se não for menor, mais uma com '>'
+            if (SortMetrics.ENABLED) {
+                int n = high - low + 1;
+                SortMetrics.partition(n + (n - (lt - low)), (lt - low) + (high - gt));
+            }
+
+            // O bloco de iguais já está no lugar: recursão só nos extremos
+            smartSortThreeWayRecursive(arr, low, lt - 1, depth + 1, depthLimit);
+            smartSortThreeWayRecursive(arr, gt + 1, high, depth + 1, depthLimit);
+        }
+    }
+
+    /**
+     * Tarefa Fork/Join: particiona o subarray e ordena as duas metades em paralelo.
+     */
+    private static final class ParallelSortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final double[] arr;
+        private final int low;
+        private final int high;
+        private final int depth;
+        private final int depthLimit;
+        private final int sequentialCutoff;
+        private final SortMetrics.TaskGroup metrics;  // null com as métricas desligadas
+
+        ParallelSortTask(double[] arr, int low, int high, int depth, int depthLimit, int sequentialCutoff,
+                         SortMetrics.TaskGroup metrics) {
+            this.arr = arr;
+            this.low = low;
+            this.high = high;
+            this.depth = depth;
+            this.depthLimit = depthLimit;
+            this.sequentialCutoff = sequentialCutoff;
+            this.metrics = metrics;
+        }
+
+        @Override
+        protected void compute() {
+            // Métricas: a tarefa conta como parte do parallelSort que a criou, em qualquer thread
+            if (SortMetrics.ENABLED) metrics.enter();
+            try {
+                sortRange();
+            } finally {
+                if (SortMetrics.ENABLED) metrics.exit();
+            }
+        }
+
+        private void sortRange() {
+            // Subarray pequeno: segue com a recursão sequencial (mesma profundidade e limite)
+            if (high - low + 1 <= sequentialCutoff) {
+                smartSortRecursive(arr, low, high, depth, depthLimit);
+                return;
+            }
+
+            // Mesmo fallback da versão sequencial
+            if (depth > depthLimit) {
+                if (SortMetrics.ENABLED) SortMetrics.fallback();
+                MergeSort.sort(arr, low, high);
+                return;
+            }
+            if (SortMetrics.ENABLED) SortMetrics.depth(depth);
+
+            int pi = partition(arr, low, high);
+            invokeAll(
+                new ParallelSortTask(arr, low, pi - 1, depth + 1, depthLimit, sequentialCutoff, metrics),
+                new ParallelSortTask(arr, pi + 1, high, depth + 1, depthLimit, sequentialCutoff, metrics));
+        }
+    }
+
     // --- Métodos Auxiliares do Quick Sort (Partição de Lomuto) ---
 
     private static int partition(double[] arr, int low, int high) {
@@ -56,6 +651,8 @@ public class SmartSort {
             }
         }
         swap(arr, i + 1, high);
+        // Uma comparação por elemento; uma troca por elemento <= pivô, mais a do pivô
+        if (SortMetrics.ENABLED) SortMetrics.partition(high - low, i - low + 2);
         return i + 1;
     }
 
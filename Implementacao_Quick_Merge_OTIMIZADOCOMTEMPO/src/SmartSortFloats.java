@@ -0,0 +1,310 @@
+/**
+ * Versão do SmartSort especializada para float[] (sem boxing).
+ * * Usa a mesma escolha adaptativa de {@link SmartSort#sortAdaptive(double[], int)}:
+ * detecção de trechos ordenados com mesclagem natural, Introsort (pivô por mediana,
+ * Insertion Sort nas folhas, Heap Sort como fallback) e Radix Sort em arrays grandes.
+ * Código duplicado de propósito: cada tipo primitivo tem seu próprio laço, sem conversões.
+ */
+final class SmartSortFloats {
+
+    private SmartSortFloats() {
+    }
+
+    // Bits de -0.0f, para distingui-lo de 0.0f (que é igual a ele na comparação com ==)
+    private static final int NEGATIVE_ZERO_BITS = Float.floatToRawIntBits(-0.0f);
+
+    /**
+     * Modo adaptativo para float[] (mesmos passos e limites do SmartSort).
+     * NaN e -0.0f seguem a ordem de Arrays.sort em qualquer tamanho, como em
+     * {@link SmartSort#sortInTotalOrder}: os NaN vão para o final e cada -0.0f é ordenado
+     * como 0.0f e restaurado no início do bloco de zeros.
+     */
+    static void sortAdaptive(float[] arr, int radixThreshold) {
+        int n = arr.length;
+        while (n > 0 && Float.isNaN(arr[n - 1])) n--;
+        for (int i = n - 2; i >= 0; i--) {
+            if (Float.isNaN(arr[i])) {
+                arr[i] = arr[--n];
+                arr[n] = Float.NaN;
+            }
+        }
+
+        int negativeZeros = 0;
+        for (int i = 0; i < n; i++) {
+            if (Float.floatToRawIntBits(arr[i]) == NEGATIVE_ZERO_BITS) {
+                arr[i] = 0.0f;
+                negativeZeros++;
+            }
+        }
+
+        sortComparable(arr, n, radixThreshold);
+
+        if (negativeZeros > 0) {
+            int lo = 0;
+            int hi = n - 1;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (arr[mid] < 0.0f) lo = mid + 1; else hi = mid;
+            }
+            for (int i = lo; i < lo + negativeZeros; i++) arr[i] = -0.0f;
+        }
+    }
+
+    /**
+     * Núcleo do modo adaptativo aplicado aos n primeiros elementos (sem NaN nem -0.0f).
+     */
+    private static void sortComparable(float[] arr, int n, int radixThreshold) {
+        if (n < 2) return;
+
+        int[] runs = new int[SmartSort.MAX_RUN_COUNT + 1];
+        int runCount = 0;
+        int start = 0;
+        while (start < n) {
+            if (runCount == SmartSort.MAX_RUN_COUNT) {
+                if (n >= radixThreshold) {
+                    radixSort(arr, n);
+                } else {
+                    introSort(arr, 0, n - 1, 0, SmartSort.depthLimit(n));
+                }
+                return;
+            }
+            runs[runCount++] = start;
+            start = findRunEnd(arr, start, n);
+        }
+        runs[runCount] = n;
+
+        mergeRuns(arr, runs, runCount);
+    }
+
+    // =======================================================
+    // TRECHOS ORDENADOS E MESCLAGEM NATURAL
+    // =======================================================
+
+    private static int findRunEnd(float[] arr, int start, int n) {
+        int end = start + 1;
+        if (end == n) return n;
+
+        if (arr[end] < arr[start]) {
+            while (end + 1 < n && arr[end + 1] < arr[end]) end++;
+            for (int i = start, j = end; i < j; i++, j--) swap(arr, i, j);
+        } else {
+            while (end + 1 < n && arr[end + 1] >= arr[end]) end++;
+        }
+        return end + 1;
+    }
+
+    private static void mergeRuns(float[] arr, int[] runs, int runCount) {
+        if (runCount < 2) return;
+
+        int n = runs[runCount];
+        float[] buffer = new float[n];
+        float[] src = arr;
+        float[] dst = buffer;
+
+        while (runCount > 1) {
+            int k = 0;
+            for (int r = 0; r < runCount; r += 2) {
+                if (r + 1 < runCount) {
+                    merge(src, dst, runs[r], runs[r + 1], runs[r + 2]);
+                } else {
+                    System.arraycopy(src, runs[r], dst, runs[r], runs[r + 1] - runs[r]);
+                }
+                runs[k++] = runs[r];
+            }
+            runs[k] = runs[runCount];
+            runCount = k;
+
+            float[] t = src; src = dst; dst = t;
+        }
+
+        if (src != arr) {
+            System.arraycopy(src, 0, arr, 0, n);
+        }
+    }
+
+    /**
+     * Mescla src[left..middle-1] e src[middle..right-1] em dst[left..right-1].
+     */
+    private static void merge(float[] src, float[] dst, int left, int middle, int right) {
+        if (src[middle - 1] <= src[middle]) {
+            System.arraycopy(src, left, dst, left, right - left);
+            return;
+        }
+        int i = left;
+        int j = middle;
+        int k = left;
+        while (i < middle && j < right) {
+            dst[k++] = src[i] <= src[j] ? src[i++] : src[j++];
+        }
+        if (i < middle) System.arraycopy(src, i, dst, k, middle - i);
+        if (j < right) System.arraycopy(src, j, dst, k, right - j);
+    }
+
+    // =======================================================
+    // INTROSORT
+    // =======================================================
+
+    private static void introSort(float[] arr, int low, int high, int depth, int depthLimit) {
+        while (high - low + 1 > SmartSort.DEFAULT_INSERTION_THRESHOLD) {
+            if (depth > depthLimit) {
+                heapSort(arr, low, high);
+                return;
+            }
+            depth++;
+
+            swap(arr, low, choosePivot(arr, low, high));
+            int pi = hoarePartition(arr, low, high);
+
+            if (pi - low < high - pi) {
+                introSort(arr, low, pi - 1, depth, depthLimit);
+                low = pi + 1;
+            } else {
+                introSort(arr, pi + 1, high, depth, depthLimit);
+                high = pi - 1;
+            }
+        }
+        insertionSort(arr, low, high);
+    }
+
+    private static int choosePivot(float[] arr, int low, int high) {
+        int n = high - low + 1;
+        int mid = low + (n >>> 1);
+        if (n <= SmartSort.NINTHER_THRESHOLD) {
+            return medianOfThree(arr, low, mid, high);
+        }
+        int eps = n >>> 3;
+        int a = medianOfThree(arr, low, low + eps, low + 2 * eps);
+        int b = medianOfThree(arr, mid - eps, mid, mid + eps);
+        int c = medianOfThree(arr, high - 2 * eps, high - eps, high);
+        return medianOfThree(arr, a, b, c);
+    }
+
+    private static int medianOfThree(float[] arr, int i, int j, int k) {
+        if (arr[i] < arr[j]) {
+            if (arr[j] < arr[k]) return j;
+            return arr[i] < arr[k] ? k : i;
+        }
+        if (arr[k] < arr[j]) return j;
+        return arr[k] < arr[i] ? k : i;
+    }
+
+    private static int hoarePartition(float[] arr, int low, int high) {
+        float pivot = arr[low];
+        int i = low;
+        int j = high + 1;
+        while (true) {
+            while (arr[++i] < pivot) {
+                if (i == high) break;
+            }
+            while (pivot < arr[--j]) {
+                // arr[low] == pivot funciona como sentinela para j
+            }
+            if (i >= j) break;
+            swap(arr, i, j);
+        }
+        swap(arr, low, j);
+        return j;
+    }
+
+    private static void insertionSort(float[] arr, int low, int high) {
+        for (int i = low + 1; i <= high; i++) {
+            float value = arr[i];
+            int j = i - 1;
+            while (j >= low && arr[j] > value) {
+                arr[j + 1] = arr[j];
+                j--;
+            }
+            arr[j + 1] = value;
+        }
+    }
+
+    private static void heapSort(float[] arr, int low, int high) {
+        int n = high - low + 1;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(arr, low, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(arr, low, low + end);
+            siftDown(arr, low, 0, end);
+        }
+    }
+
+    private static void siftDown(float[] arr, int offset, int i, int size) {
+        float value = arr[offset + i];
+        int half = size / 2;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && arr[offset + child + 1] > arr[offset + child]) {
+                child++;
+            }
+            if (value >= arr[offset + child]) break;
+            arr[offset + i] = arr[offset + child];
+            i = child;
+        }
+        arr[offset + i] = value;
+    }
+
+    // =======================================================
+    // RADIX SORT (LSD, dígitos de 11 bits)
+    // =======================================================
+
+    private static final int RADIX_BITS = 11;
+    private static final int RADIX = 1 << RADIX_BITS;
+    private static final int MASK = RADIX - 1;
+    private static final int PASSES = (Integer.SIZE + RADIX_BITS - 1) / RADIX_BITS;
+
+    /**
+     * Radix Sort LSD estável. A chave ordenável é calculada a cada passada a partir do
+     * próprio valor, então não há array de chaves: só o array auxiliar de mesmo tipo.
+     * Ordena os n primeiros elementos.
+     */
+    private static void radixSort(float[] arr, int n) {
+        int[][] counts = new int[PASSES][RADIX];
+        for (int i = 0; i < n; i++) {
+            int key = sortableKey(arr[i]);
+            for (int p = 0; p < PASSES; p++) {
+                counts[p][(key >>> (p * RADIX_BITS)) & MASK]++;
+            }
+        }
+
+        float[] src = arr;
+        float[] dst = new float[n];
+        for (int p = 0; p < PASSES; p++) {
+            int shift = p * RADIX_BITS;
+            int[] count = counts[p];
+            if (count[(sortableKey(src[0]) >>> shift) & MASK] == n) continue;
+
+            int sum = 0;
+            for (int d = 0; d < RADIX; d++) {
+                int c = count[d];
+                count[d] = sum;
+                sum += c;
+            }
+            for (int i = 0; i < n; i++) {
+                float value = src[i];
+                dst[count[(sortableKey(value) >>> shift) & MASK]++] = value;
+            }
+
+            float[] t = src; src = dst; dst = t;
+        }
+
+        if (src != arr) {
+            System.arraycopy(src, 0, arr, 0, n);
+        }
+    }
+
+    /**
+     * Mesma transformação IEEE-754 do RadixSort de double, em 32 bits
+     * (positivos: inverte o sinal; negativos: inverte todos os bits; NaN normalizado).
+     */
+    private static int sortableKey(float value) {
+        int bits = Float.floatToIntBits(value);
+        return bits ^ ((bits >> 31) | Integer.MIN_VALUE);
+    }
+
+    private static void swap(float[] arr, int i, int j) {
+        float temp = arr[i];
+        arr[i] = arr[j];
+        arr[j] = temp;
+    }
+}
@@ -0,0 +1,268 @@
+/**
+ * Versão do SmartSort especializada para long[] (sem boxing).
+ * * Usa a mesma escolha adaptativa de {@link SmartSort#sortAdaptive(double[], int)}:
+ * detecção de trechos ordenados com mesclagem natural, Introsort (pivô por mediana,
+ * Insertion Sort nas folhas, Heap Sort como fallback) e Radix Sort em arrays grandes.
+ * Código duplicado de propósito: cada tipo primitivo tem seu próprio laço, sem conversões.
+ */
+final class SmartSortLongs {
+
+    private SmartSortLongs() {
+    }
+
+    /**
+     * Modo adaptativo para long[] (mesmos passos e limites do SmartSort).
+     */
+    static void sortAdaptive(long[] arr, int radixThreshold) {
+        int n = arr.length;
+        if (n < 2) return;
+
+        int[] runs = new int[SmartSort.MAX_RUN_COUNT + 1];
+        int runCount = 0;
+        int start = 0;
+        while (start < n) {
+            if (runCount == SmartSort.MAX_RUN_COUNT) {
+                if (n >= radixThreshold) {
+                    radixSort(arr);
+                } else {
+                    introSort(arr, 0, n - 1, 0, SmartSort.depthLimit(n));
+                }
+                return;
+            }
+            runs[runCount++] = start;
+            start = findRunEnd(arr, start, n);
+        }
+        runs[runCount] = n;
+
+        mergeRuns(arr, runs, runCount);
+    }
+
+    // =======================================================
+    // TRECHOS ORDENADOS E MESCLAGEM NATURAL
+    // =======================================================
+
+    private static int findRunEnd(long[] arr, int start, int n) {
+        int end = start + 1;
+        if (end == n) return n;
+
+        if (arr[end] < arr[start]) {
+            while (end + 1 < n && arr[end + 1] < arr[end]) end++;
+            for (int i = start, j = end; i < j; i++, j--) swap(arr, i, j);
+        } else {
+            while (end + 1 < n && arr[end + 1] >= arr[end]) end++;
+        }
+        return end + 1;
+    }
+
+    private static void mergeRuns(long[] arr, int[] runs, int runCount) {
+        if (runCount < 2) return;
+
+        long[] buffer = new long[arr.length];
+        long[] src = arr;
+        long[] dst = buffer;
+
+        while (runCount > 1) {
+            int k = 0;
+            for (int r = 0; r < runCount; r += 2) {
+                if (r + 1 < runCount) {
+                    merge(src, dst, runs[r], runs[r + 1], runs[r + 2]);
+                } else {
+                    System.arraycopy(src, runs[r], dst, runs[r], runs[r + 1] - runs[r]);
+                }
+                runs[k++] = runs[r];
+            }
+            runs[k] = runs[runCount];
+            runCount = k;
+
+            long[] t = src; src = dst; dst = t;
+        }
+
+        if (src != arr) {
+            System.arraycopy(src, 0, arr, 0, arr.length);
+        }
+    }
+
+    /**
+     * Mescla src[left..middle-1] e src[middle..right-1] em dst[left..right-1].
+     */
+    private static void merge(long[] src, long[] dst, int left, int middle, int right) {
+        if (src[middle - 1] <= src[middle]) {
+            System.arraycopy(src, left, dst, left, right - left);
+            return;
+        }
+        int i = left;
+        int j = middle;
+        int k = left;
+        while (i < middle && j < right) {
+            dst[k++] = src[i] <= src[j] ? src[i++] : src[j++];
+        }
+        if (i < middle) System.arraycopy(src, i, dst, k, middle - i);
+        if (j < right) System.arraycopy(src, j, dst, k, right - j);
+    }
+
+    // =======================================================
+    // INTROSORT
+    // =======================================================
+
+    private static void introSort(long[] arr, int low, int high, int depth, int depthLimit) {
+        while (high - low + 1 > SmartSort.DEFAULT_INSERTION_THRESHOLD) {
+            if (depth > depthLimit) {
+                heapSort(arr, low, high);
+                return;
+            }
+            depth++;
+
+            swap(arr, low, choosePivot(arr, low, high));
+            int pi = hoarePartition(arr, low, high);
+
+            if (pi - low < high - pi) {
+                introSort(arr, low, pi - 1, depth, depthLimit);
+                low = pi + 1;
+            } else {
+                introSort(arr, pi + 1, high, depth, depthLimit);
+                high = pi - 1;
+            }
+        }
+        insertionSort(arr, low, high);
+    }
+
+    private static int choosePivot(long[] arr, int low, int high) {
+        int n = high - low + 1;
+        int mid = low + (n >>> 1);
+        if (n <= SmartSort.NINTHER_THRESHOLD) {
+            return medianOfThree(arr, low, mid, high);
+        }
+        int eps = n >>> 3;
+        int a = medianOfThree(arr, low, low + eps, low + 2 * eps);
+        int b = medianOfThree(arr, mid - eps, mid, mid + eps);
+        int c = medianOfThree(arr, high - 2 * eps, high - eps, high);
+        return medianOfThree(arr, a, b, c);
+    }
+
+    private static int medianOfThree(long[] arr, int i, int j, int k) {
+        if (arr[i] < arr[j]) {
+            if (arr[j] < arr[k]) return j;
+            return arr[i] < arr[k] ? k : i;
+        }
+        if (arr[k] < arr[j]) return j;
+        return arr[k] < arr[i] ? k : i;
+    }
+
+    private static int hoarePartition(long[] arr, int low, int high) {
+        long pivot = arr[low];
+        int i = low;
+        int j = high + 1;
+        while (true) {
+            while (arr[++i] < pivot) {
+                if (i == high) break;
+            }
+            while (pivot < arr[--j]) {
+                // arr[low] == pivot funciona como sentinela para j
+            }
+            if (i >= j) break;
+            swap(arr, i, j);
+        }
+        swap(arr, low, j);
+        return j;
+    }
+
+    private static void insertionSort(long[] arr, int low, int high) {
+        for (int i = low + 1; i <= high; i++) {
+            long value = arr[i];
+            int j = i - 1;
+            while (j >= low && arr[j] > value) {
+                arr[j + 1] = arr[j];
+                j--;
+            }
+            arr[j + 1] = value;
+        }
+    }
+
+    private static void heapSort(long[] arr, int low, int high) {
+        int n = high - low + 1;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(arr, low, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(arr, low, low + end);
+            siftDown(arr, low, 0, end);
+        }
+    }
+
+    private static void siftDown(long[] arr, int offset, int i, int size) {
+        long value = arr[offset + i];
+        int half = size / 2;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && arr[offset + child + 1] > arr[offset + child]) {
+                child++;
+            }
+            if (value >= arr[offset + child]) break;
+            arr[offset + i] = arr[offset + child];
+            i = child;
+        }
+        arr[offset + i] = value;
+    }
+
+    // =======================================================
+    // RADIX SORT (LSD, dígitos de 11 bits)
+    // =======================================================
+
+    private static final int RADIX_BITS = 11;
+    private static final int RADIX = 1 << RADIX_BITS;
+    private static final int MASK = RADIX - 1;
+    private static final int PASSES = (Long.SIZE + RADIX_BITS - 1) / RADIX_BITS;
+
+    /**
+     * Radix Sort LSD estável. A chave ordenável é calculada a cada passada a partir do
+     * próprio valor, então não há array de chaves: só o array auxiliar de mesmo tipo.
+     */
+    private static void radixSort(long[] arr) {
+        int n = arr.length;
+        int[][] counts = new int[PASSES][RADIX];
+        for (long value : arr) {
+            long key = sortableKey(value);
+            for (int p = 0; p < PASSES; p++) {
+                counts[p][(int) (key >>> (p * RADIX_BITS)) & MASK]++;
+            }
+        }
+
+        long[] src = arr;
+        long[] dst = new long[n];
+        for (int p = 0; p < PASSES; p++) {
+            int shift = p * RADIX_BITS;
+            int[] count = counts[p];
+            if (count[(int) (sortableKey(src[0]) >>> shift) & MASK] == n) continue;
+
+            int sum = 0;
+            for (int d = 0; d < RADIX; d++) {
+                int c = count[d];
+                count[d] = sum;
+                sum += c;
+            }
+            for (int i = 0; i < n; i++) {
+                long value = src[i];
+                dst[count[(int) (sortableKey(value) >>> shift) & MASK]++] = value;
+            }
+
+            long[] t = src; src = dst; dst = t;
+        }
+
+        if (src != arr) {
+            System.arraycopy(src, 0, arr, 0, n);
+        }
+    }
+
+    /**
+     * Inverte o bit de sinal: a ordem sem sinal da chave passa a ser a ordem numérica.
+     */
+    private static long sortableKey(long value) {
+        return value ^ Long.MIN_VALUE;
+    }
+
+    private static void swap(long[] arr, int i, int j) {
+        long temp = arr[i];
+        arr[i] = arr[j];
+        arr[j] = temp;
+    }
+}
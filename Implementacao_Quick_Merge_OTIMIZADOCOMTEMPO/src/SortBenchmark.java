@@ -0,0 +1,380 @@
+import java.io.BufferedReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Benchmark com a metodologia do JMH (forks, aquecimento e alocação por operação),
+ * sem depender de ferramenta de build.
+ * * **Forks:** Cada combinação (algoritmo, cenário, tamanho) roda em JVMs novas, para que
+ * o perfil do JIT de um teste não contamine o próximo. O resultado é a média dos forks.
+ * * **Aquecimento:** Iterações descartadas antes da medição, até o código estar compilado
+ * pelo C2 (sem isso, os tamanhos pequenos medem o interpretador).
+ * * **Iterações por tempo:** Cada iteração repete a operação até completar o tempo
+ * configurado e divide pelo número de operações. O custo da cópia da entrada é medido
+ * à parte e descontado.
+ * * **Memória:** Bytes alocados por operação pela própria thread
+ * (equivalente ao gc.alloc.rate.norm do "-prof gc"), sem depender do GC.
+ * * **Saída:** Mesmo esquema de CSV/resultados_completo.csv usado por graficos_resultados.py,
+ * mais uma coluna final "observacoes" com o motivo de cada célula vazia (não medida ou fork
+ * com falha); o pandas lê as células vazias como ausentes.
+ */
+public class SortBenchmark {
+
+    private static final String[] ALGORITMOS = {"MERGE", "QUICK", "SMART"};
+
+    // Cenários na ordem das colunas do CSV: [prefixo, cenário do MERGE, do QUICK, do SMART]
+    private static final String[][] CENARIOS = {
+        {"melhor", "SORTED", "SHUFFLED", "SHUFFLED"},
+        {"medio", "SHUFFLED", "SHUFFLED", "SHUFFLED"},
+        {"pior", "REVERSED", "REVERSED", "REVERSED"},
+    };
+
+    // O Quick Sort com pivô fixo tem recursão O(n) (e tempo O(n²)) em dados reversos e estoura
+    // a pilha padrão (sem -Xss) a partir de ~14.700 elementos: acima deste limite não é medido
+    private static final int QUICK_PIOR_LIMITE = 10_000;
+
+    // Evita que o JIT elimine o trabalho medido
+    private static volatile double sink;
+
+    /**
+     * Configuração do benchmark (valores padrão equivalentes ao teste original do App).
+     */
+    static final class Config {
+        int[] tamanhos = {500, 1500, 3000, 4000, 4898};
+        int forks = 2;
+        int aquecimento = 3;
+        int iteracoes = 5;
+        int tempoIteracaoMs = 100;
+        String saida = "CSV/resultados_completo.csv";
+        String dataset = "CSV/winequality-white.csv";
+        int coluna = 10;
+    }
+
+    /**
+     * Uso: java SortBenchmark [--sizes 500,1500,...] [--forks 2] [--warmup 3]
+     * [--iterations 5] [--time-ms 100] [--output CSV/resultados_completo.csv]
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length > 0 && args[0].equals("--worker")) {
+            executarWorker(args);
+            return;
+        }
+        run(parseArgs(args));
+    }
+
+    /**
+     * Executa a matriz completa, um conjunto de forks por combinação, e grava o CSV.
+     */
+    static void run(Config config) throws IOException, InterruptedException {
+        try (FileWriter writer = new FileWriter(config.saida, StandardCharsets.UTF_8)) {
+            StringBuilder header = new StringBuilder("tamanho");
+            for (String[] cenario : CENARIOS) {
+                for (String algo : ALGORITMOS) {
+                    String prefixo = cenario[0] + "_" + algo.toLowerCase(Locale.ROOT);
+                    header.append(',').append(prefixo).append("_t,").append(prefixo).append("_m");
+                }
+            }
+            writer.write(header.append(",observacoes\n").toString());
+
+            for (int n : config.tamanhos) {
+                System.out.println("\n=== Testando N = " + n + " ===");
+                StringBuilder linha = new StringBuilder(Integer.toString(n));
+                StringBuilder observacoes = new StringBuilder();
+
+                for (String[] cenario : CENARIOS) {
+                    for (int a = 0; a < ALGORITMOS.length; a++) {
+                        String algo = ALGORITMOS[a];
+                        String tipo = cenario[a + 1];
+                        String celula = cenario[0] + "_" + algo.toLowerCase(Locale.ROOT);
+
+                        String motivo = null;
+                        double[] resultado = null;
+                        if (algo.equals("QUICK") && tipo.equals("REVERSED") && n > QUICK_PIOR_LIMITE) {
+                            motivo = "não medido: pivô fixo em dados reversos tem recursão O(n) e estoura a pilha acima de "
+                                + QUICK_PIOR_LIMITE;
+                        } else {
+                            try {
+                                resultado = executarForks(config, algo, tipo, n);
+                            } catch (ForkFalhou e) {
+                                motivo = "fork falhou: " + e.getMessage();
+                            }
+                        }
+
+                        if (resultado != null) {
+                            System.out.printf(Locale.US, "%-6s %-6s %-8s %10.4f ms/op %12.0f B/op%n",
+                                cenario[0], algo, tipo, resultado[0], resultado[1]);
+                            linha.append(String.format(Locale.US, ",%.4f,%.0f", resultado[0], resultado[1]));
+                        } else {
+                            System.out.printf("%-6s %-6s %-8s %s%n", cenario[0], algo, tipo, motivo);
+                            linha.append(",,");
+                            // Sem vírgulas nem aspas: a coluna de observações é texto simples
+                            if (observacoes.length() > 0) observacoes.append(" | ");
+                            observacoes.append(celula).append(' ').append(motivo.replace(',', ';').replace('"', '\''));
+                        }
+                    }
+                }
+                linha.append(',').append(observacoes);
+                writer.write(linha.append('\n').toString());
+                writer.flush();
+            }
+        }
+        System.out.println("\n✅ Benchmark salvo em " + config.saida);
+    }
+
+    /**
+     * Falha de um fork (saída diferente de zero ou sem a linha RESULT); a mensagem é a última
+     * linha que o fork escreveu (ex.: "Exception in thread ... StackOverflowError").
+     */
+    private static final class ForkFalhou extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        ForkFalhou(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Roda a combinação em 'forks' JVMs novas e retorna a média de [ms/op, bytes/op].
+     * @throws ForkFalhou Se algum fork falhar; a célula fica vazia e a matriz continua.
+     */
+    private static double[] executarForks(Config config, String algo, String tipo, int n)
+            throws IOException, InterruptedException, ForkFalhou {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        double somaTempo = 0;
+        double somaMemoria = 0;
+
+        for (int f = 0; f < config.forks; f++) {
+            ProcessBuilder pb = new ProcessBuilder(java,
+                "-cp", System.getProperty("java.class.path"),
+                "SortBenchmark", "--worker", algo, tipo, Integer.toString(n),
+                Integer.toString(config.aquecimento), Integer.toString(config.iteracoes),
+                Integer.toString(config.tempoIteracaoMs), config.dataset, Integer.toString(config.coluna),
+                Integer.toString(f));
+            pb.redirectErrorStream(true);
+            Process process = pb.start();
+
+            double[] resultado = null;
+            String ultimaLinha = "sem saída";
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.startsWith("RESULT ")) {
+                        String[] parts = line.split(" ");
+                        resultado = new double[]{Double.parseDouble(parts[1]), Double.parseDouble(parts[2])};
+                    } else {
+                        System.out.println("  [fork] " + line);
+                        // Linhas "at ..." do stack trace não explicam a falha; guarda a da exceção
+                        if (!line.trim().startsWith("at ")) ultimaLinha = line.trim();
+                    }
+                }
+            }
+            int status = process.waitFor();
+            if (status != 0 || resultado == null) {
+                throw new ForkFalhou("saída " + status + " (" + ultimaLinha + ")");
+            }
+            somaTempo += resultado[0];
+            somaMemoria += resultado[1];
+        }
+        return new double[]{somaTempo / config.forks, somaMemoria / config.forks};
+    }
+
+    // =======================================================
+    // WORKER (executado dentro de cada fork)
+    // =======================================================
+
+    private static void executarWorker(String[] args) {
+        String algo = args[1];
+        String tipo = args[2];
+        int n = Integer.parseInt(args[3]);
+        int aquecimento = Integer.parseInt(args[4]);
+        int iteracoes = Integer.parseInt(args[5]);
+        long tempoIteracaoNs = Long.parseLong(args[6]) * 1_000_000L;
+        String dataset = args[7];
+        int coluna = Integer.parseInt(args[8]);
+        long seed = Long.parseLong(args[9]);
+
+        double[] base = carregarDados(dataset, coluna, n, seed);
+        double[] work = new double[n];
+        Random random = new Random(seed);
+
+        double somaTempo = 0;
+        double somaMemoria = 0;
+        for (int it = 0; it < aquecimento + iteracoes; it++) {
+            double[] input = prepararEntrada(base, tipo, random);
+            double[] resultado = medirIteracao(algo, input, work, tempoIteracaoNs);
+            if (it >= aquecimento) {
+                somaTempo += resultado[0];
+                somaMemoria += resultado[1];
+            }
+        }
+        System.out.println("RESULT " + (somaTempo / iteracoes) + " " + (somaMemoria / iteracoes));
+    }
+
+    /**
+     * Uma iteração: repete cópia + ordenação até o tempo acabar.
+     * @return [ms/op (sem o custo da cópia), bytes alocados/op]
+     */
+    private static double[] medirIteracao(String algo, double[] input, double[] work, long tempoNs) {
+        int n = input.length;
+
+        // Custo da cópia, para ser descontado
+        long copias = 0;
+        long inicio = System.nanoTime();
+        long fim;
+        do {
+            System.arraycopy(input, 0, work, 0, n);
+            sink = work[n - 1];
+            copias++;
+        } while ((fim = System.nanoTime()) - inicio < tempoNs / 10);
+        double copiaNs = (double) (fim - inicio) / copias;
+
+        long ops = 0;
+        long alocadoAntes = bytesAlocados();
+        inicio = System.nanoTime();
+        do {
+            System.arraycopy(input, 0, work, 0, n);
+            ordenar(algo, work);
+            sink = work[n - 1];
+            ops++;
+        } while ((fim = System.nanoTime()) - inicio < tempoNs);
+        long alocadoDepois = bytesAlocados();
+
+        double tempoOpNs = Math.max(0, (double) (fim - inicio) / ops - copiaNs);
+        double bytesOp = alocadoAntes < 0 ? Double.NaN : (double) (alocadoDepois - alocadoAntes) / ops;
+        return new double[]{tempoOpNs / 1_000_000.0, bytesOp};
+    }
+
+    private static void ordenar(String algo, double[] arr) {
+        switch (algo) {
+            case "MERGE":
+                MergeSort.sort(arr, 0, arr.length - 1);
+                break;
+            case "QUICK":
+                QuickSort.sort(arr, 0, arr.length - 1);
+                break;
+            case "SMART":
+                SmartSort.sort(arr);
+                break;
+            default:
+                throw new IllegalArgumentException("Algoritmo desconhecido: " + algo);
+        }
+    }
+
+    /**
+     * Bytes alocados pela thread atual desde o início (-1 se a JVM não oferecer a medição).
+     */
+    private static long bytesAlocados() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    /**
+     * Carrega a coluna do dataset; se n for maior que o arquivo, completa sorteando valores
+     * da própria coluna com um ruído uniforme menor que a resolução da coluna (metade da
+     * menor distância entre valores distintos). A distribuição continua a real, mas sem que
+     * ~100 valores distintos se repitam milhões de vezes: em blocos enormes de chaves iguais o
+     * Quick Sort com partição de Lomuto tem recursão linear e estoura a pilha em qualquer cenário.
+     */
+    private static double[] carregarDados(String dataset, int coluna, int n, long seed) {
+        double[] data = MappedDatasetLoader.loadColumn(dataset, coluna);
+        Random random = new Random(seed);
+        double ruido = n > data.length ? resolucao(data) / 2 : 0;
+        double[] result = new double[n];
+        for (int i = 0; i < n; i++) {
+            if (i < data.length) {
+                result[i] = data[i];
+            } else if (data.length > 0) {
+                result[i] = data[random.nextInt(data.length)] + (random.nextDouble() - 0.5) * ruido;
+            } else {
+                result[i] = random.nextDouble() * 100;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Menor distância positiva entre valores distintos da coluna (1 se todos forem iguais).
+     */
+    private static double resolucao(double[] data) {
+        double[] sorted = data.clone();
+        Arrays.sort(sorted);
+        double menor = Double.POSITIVE_INFINITY;
+        for (int i = 1; i < sorted.length; i++) {
+            double gap = sorted[i] - sorted[i - 1];
+            if (gap > 0 && gap < menor) menor = gap;
+        }
+        return Double.isInfinite(menor) ? 1 : menor;
+    }
+
+    private static double[] prepararEntrada(double[] base, String tipo, Random random) {
+        double[] input = base.clone();
+        switch (tipo) {
+            case "SHUFFLED":
+                for (int i = input.length - 1; i > 0; i--) {
+                    int j = random.nextInt(i + 1);
+                    double temp = input[i];
+                    input[i] = input[j];
+                    input[j] = temp;
+                }
+                break;
+            case "SORTED":
+                Arrays.sort(input);
+                break;
+            case "REVERSED":
+                Arrays.sort(input);
+                for (int i = 0; i < input.length / 2; i++) {
+                    double temp = input[i];
+                    input[i] = input[input.length - 1 - i];
+                    input[input.length - 1 - i] = temp;
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Cenário desconhecido: " + tipo);
+        }
+        return input;
+    }
+
+    static Config parseArgs(String[] args) {
+        Config config = new Config();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--sizes":
+                    config.tamanhos = Arrays.stream(value.split(",")).mapToInt(Integer::parseInt).toArray();
+                    break;
+                case "--forks":
+                    config.forks = Integer.parseInt(value);
+                    break;
+                case "--warmup":
+                    config.aquecimento = Integer.parseInt(value);
+                    break;
+                case "--iterations":
+                    config.iteracoes = Integer.parseInt(value);
+                    break;
+                case "--time-ms":
+                    config.tempoIteracaoMs = Integer.parseInt(value);
+                    break;
+                case "--output":
+                    config.saida = value;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Opção desconhecida: " + args[i]);
+            }
+        }
+        if (config.forks < 1 || config.iteracoes < 1 || config.tempoIteracaoMs < 1
+                || Arrays.stream(config.tamanhos).anyMatch(n -> n < 1)) {
+            throw new IllegalArgumentException("sizes, forks, iterations e time-ms devem ser >= 1");
+        }
+        return config;
+    }
+}
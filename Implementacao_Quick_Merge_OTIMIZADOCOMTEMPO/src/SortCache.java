@@ -0,0 +1,247 @@
+import java.io.IOException;
+import java.nio.DoubleBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache de colunas já ordenadas ("ordena uma vez, consulta muitas").
+ * * **Chaves:**
+ * - Colunas de arquivo: caminho absoluto + data de modificação + tamanho + índice da coluna.
+ *   Se o arquivo mudar, a chave muda e a versão antiga sai do cache por LRU.
+ * - Arrays em memória: impressão digital do conteúdo (hash de 64 bits dos bits de cada valor,
+ *   mais o tamanho). Como hash não prova igualdade, a entrada guarda também uma cópia do array
+ *   original e um acerto só vale se {@code Arrays.equals} confirmar o conteúdo; numa colisão
+ *   o pedido conta como falta e a entrada é substituída.
+ * * **Limite:** Soma dos bytes dos arrays armazenados (ordenados e cópias dos originais);
+ * ao exceder, remove os menos usados recentemente (LinkedHashMap em ordem de acesso).
+ * * **Entrega:** Visões somente leitura compartilhadas (DoubleBuffer, sem cópia) ou cópias
+ * independentes (double[]), que o chamador pode modificar.
+ * * **Concorrência:** Pode ser usado por várias threads. A carga e a ordenação rodam fora do
+ * lock; duas threads pedindo a mesma chave ao mesmo tempo podem calcular o resultado em dobro.
+ */
+public class SortCache {
+
+    /** Limite padrão de memória: 256 MB. */
+    public static final long DEFAULT_MAX_BYTES = 256L << 20;
+
+    private final long maxBytes;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Cria um cache com o limite padrão de memória.
+     */
+    public SortCache() {
+        this(DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Cria um cache.
+     * @param maxBytes Memória máxima ocupada pelos arrays armazenados.
+     */
+    public SortCache(long maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("O limite de memória deve ser >= 0: " + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    // =======================================================
+    // COLUNAS DE ARQUIVO
+    // =======================================================
+
+    /**
+     * Coluna de um CSV, ordenada, como visão somente leitura compartilhada.
+     * Na primeira chamada (ou se o arquivo mudou) carrega com o {@link MappedDatasetLoader}
+     * e ordena com o modo adaptativo do SmartSort; nas seguintes não lê nem ordena nada.
+     * @param filePath O caminho do arquivo CSV.
+     * @param columnIndex O índice da coluna (base zero).
+     */
+    public DoubleBuffer sortedColumn(String filePath, int columnIndex) throws IOException {
+        return view(columnValues(filePath, columnIndex));
+    }
+
+    /**
+     * Mesma coisa que {@link #sortedColumn(String, int)}, mas devolve uma cópia modificável.
+     */
+    public double[] sortedColumnCopy(String filePath, int columnIndex) throws IOException {
+        return columnValues(filePath, columnIndex).clone();
+    }
+
+    private double[] columnValues(String filePath, int columnIndex) throws IOException {
+        Path path = Paths.get(filePath).toAbsolutePath().normalize();
+        String key = "file:" + path + '|' + Files.getLastModifiedTime(path).toMillis()
+            + '|' + Files.size(path) + '|' + columnIndex;
+
+        Entry entry = lookup(key);
+        if (entry != null) {
+            record(true);
+            return entry.sorted;
+        }
+        record(false);
+        double[] sorted = MappedDatasetLoader.loadColumn(path.toString(), columnIndex);
+        SmartSort.sortAdaptive(sorted);
+        // Coluna vazia costuma indicar erro de leitura: não guarda para tentar de novo depois
+        if (sorted.length > 0) store(key, new Entry(null, sorted));
+        return sorted;
+    }
+
+    // =======================================================
+    // ARRAYS EM MEMÓRIA
+    // =======================================================
+
+    /**
+     * Versão ordenada de um array em memória, como visão somente leitura compartilhada.
+     * O array recebido não é modificado. Arrays com o mesmo conteúdo compartilham a entrada.
+     */
+    public DoubleBuffer sorted(double[] values) {
+        return view(sortedValues(values));
+    }
+
+    /**
+     * Mesma coisa que {@link #sorted(double[])}, mas devolve uma cópia modificável.
+     */
+    public double[] sortedCopy(double[] values) {
+        return sortedValues(values).clone();
+    }
+
+    private double[] sortedValues(double[] values) {
+        String key = "mem:" + Long.toHexString(fingerprint(values)) + '|' + values.length;
+
+        // A chave é só um hash: o conteúdo é conferido (fora do lock) antes de aceitar o acerto
+        Entry entry = lookup(key);
+        if (entry != null && Arrays.equals(entry.source, values)) {
+            record(true);
+            return entry.sorted;
+        }
+        record(false);
+        double[] sorted = values.clone();
+        SmartSort.sortAdaptive(sorted);
+        store(key, new Entry(values.clone(), sorted));
+        return sorted;
+    }
+
+    /**
+     * Hash de 64 bits do conteúdo: combina os bits de cada valor com multiplicação e mistura
+     * final (estilo SplitMix64). Considera a ordem, então permutações têm hashes diferentes.
+     */
+    static long fingerprint(double[] values) {
+        long h = 0x9E3779B97F4A7C15L ^ values.length;
+        for (double value : values) {
+            h = (h ^ Double.doubleToLongBits(value)) * 0xBF58476D1CE4E5B9L;
+            h ^= h >>> 31;
+        }
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+
+    // =======================================================
+    // ARMAZENAMENTO (LRU LIMITADO POR BYTES)
+    // =======================================================
+
+    /**
+     * Entrada do cache: o array ordenado e, para arrays em memória, a cópia do original
+     * usada para confirmar acertos (null nas colunas de arquivo, cuja chave já é exata).
+     */
+    private static final class Entry {
+        final double[] source;
+        final double[] sorted;
+
+        Entry(double[] source, double[] sorted) {
+            this.source = source;
+            this.sorted = sorted;
+        }
+
+        long bytes() {
+            long count = sorted.length + (source == null ? 0 : source.length);
+            return count * Double.BYTES;
+        }
+    }
+
+    private synchronized Entry lookup(String key) {
+        return entries.get(key);
+    }
+
+    private synchronized void record(boolean hit) {
+        if (hit) {
+            hits++;
+        } else {
+            misses++;
+        }
+    }
+
+    private synchronized void store(String key, Entry entry) {
+        long bytes = entry.bytes();
+        if (bytes > maxBytes) return; // Nunca caberia: entrega sem guardar
+
+        Entry previous = entries.put(key, entry);
+        usedBytes += bytes;
+        if (previous != null) usedBytes -= previous.bytes();
+
+        // Remove os menos usados recentemente (início da ordem de acesso) até caber
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (usedBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, Entry> eldest = it.next();
+            if (eldest.getKey().equals(key)) continue;
+            usedBytes -= eldest.getValue().bytes();
+            it.remove();
+            evictions++;
+        }
+    }
+
+    private static DoubleBuffer view(double[] sorted) {
+        return DoubleBuffer.wrap(sorted).asReadOnlyBuffer();
+    }
+
+    /**
+     * Remove todas as entradas (as métricas são mantidas).
+     */
+    public synchronized void clear() {
+        entries.clear();
+        usedBytes = 0;
+    }
+
+    // =======================================================
+    // MÉTRICAS
+    // =======================================================
+
+    /** Pedidos atendidos pelo cache (sem leitura nem ordenação). */
+    public synchronized long hits() {
+        return hits;
+    }
+
+    /** Pedidos que precisaram carregar e/ou ordenar. */
+    public synchronized long misses() {
+        return misses;
+    }
+
+    /** Entradas removidas para respeitar o limite de memória. */
+    public synchronized long evictions() {
+        return evictions;
+    }
+
+    /** Fração de pedidos atendidos pelo cache (0 se ainda não houve pedidos). */
+    public synchronized double hitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /** Quantidade de entradas armazenadas. */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /** Bytes ocupados pelos arrays armazenados (ordenados e cópias dos originais). */
+    public synchronized long usedBytes() {
+        return usedBytes;
+    }
+}
\ No newline at end of file
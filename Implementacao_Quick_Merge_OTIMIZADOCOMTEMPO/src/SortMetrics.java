@@ -0,0 +1,335 @@
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Instrumentação opcional das ordenações: partições, comparações, trocas, profundidade
+ * máxima, fallbacks (Merge/Heap Sort por excesso de profundidade) e bytes de área auxiliar.
+ * * **Ativação:** -Dsmartsort.metrics=true. O flag é lido uma única vez (static final);
+ * com ele desligado, o JIT remove os blocos "if (SortMetrics.ENABLED)" e os contadores
+ * locais dos algoritmos, então o custo é praticamente zero.
+ * * **Coleta:** Os algoritmos contam em variáveis locais e reportam uma vez por partição
+ * (ou mesclagem) para contadores da própria thread. Ao final de cada ordenação de nível mais
+ * externo, os valores viram um evento JFR "smartsort.Sort" e são somados aos totais globais,
+ * expostos pelo MBean "SmartSort:type=SortMetrics".
+ * * **Threads:** As tarefas do parallelSort contam em outras threads dentro de um
+ * {@link TaskGroup}, que a thread que iniciou a ordenação incorpora ao seu evento. Partições
+ * feitas fora de qualquer ordenação instrumentada vão direto para os totais globais.
+ */
+public class SortMetrics {
+
+    /**
+     * Liga a instrumentação (-Dsmartsort.metrics=true).
+     */
+    public static final boolean ENABLED = Boolean.getBoolean("smartsort.metrics");
+
+    private static final ThreadLocal<Counters> LOCAL = ThreadLocal.withInitial(Counters::new);
+
+    private static final LongAdder SORTS = new LongAdder();
+    private static final LongAdder PARTITIONS = new LongAdder();
+    private static final LongAdder COMPARISONS = new LongAdder();
+    private static final LongAdder SWAPS = new LongAdder();
+    private static final LongAccumulator MAX_DEPTH = new LongAccumulator(Math::max, 0);
+    private static final LongAdder FALLBACKS = new LongAdder();
+    private static final LongAdder SCRATCH_BYTES = new LongAdder();
+
+    static {
+        if (ENABLED) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(
+                    new Bean(), new ObjectName("SmartSort:type=SortMetrics"));
+            } catch (JMException e) {
+                System.err.println("Não foi possível registrar o MBean de métricas: " + e);
+            }
+        }
+    }
+
+    /**
+     * Métricas de uma ordenação (ou dos totais acumulados).
+     */
+    public static final class Snapshot {
+        public final String algorithm;
+        public final long size;
+        public final long partitions;
+        public final long comparisons;
+        public final long swaps;
+        public final long maxDepth;
+        public final long fallbacks;
+        public final long scratchBytes;
+
+        Snapshot(String algorithm, long size, long partitions, long comparisons, long swaps,
+                 long maxDepth, long fallbacks, long scratchBytes) {
+            this.algorithm = algorithm;
+            this.size = size;
+            this.partitions = partitions;
+            this.comparisons = comparisons;
+            this.swaps = swaps;
+            this.maxDepth = maxDepth;
+            this.fallbacks = fallbacks;
+            this.scratchBytes = scratchBytes;
+        }
+    }
+
+    // =======================================================
+    // CHAMADAS DOS ALGORITMOS (sempre dentro de "if (SortMetrics.ENABLED)")
+    // =======================================================
+
+    /**
+     * Início de uma ordenação. Chamadas aninhadas (ex.: o modo adaptativo chamando o
+     * modo ajustado) são somadas à ordenação mais externa.
+     * Deve ser pareado com {@link #end()} em um bloco finally, para que uma exceção no meio
+     * da ordenação não deixe o aninhamento da thread desbalanceado.
+     */
+    static void begin(String algorithm, long size) {
+        Counters c = LOCAL.get();
+        if (c.nesting++ == 0) {
+            c.algorithm = algorithm;
+            c.size = size;
+            c.event = new SortEvent();
+            c.event.begin();
+        }
+    }
+
+    /**
+     * Fim de uma ordenação: na mais externa, emite o evento JFR e soma aos totais globais.
+     */
+    static void end() {
+        Counters c = LOCAL.get();
+        if (--c.nesting > 0) return;
+
+        SortEvent event = c.event;
+        event.end();
+        if (event.shouldCommit()) {
+            event.algorithm = c.algorithm;
+            event.size = c.size;
+            event.partitions = c.partitions;
+            event.comparisons = c.comparisons;
+            event.swaps = c.swaps;
+            event.maxDepth = c.maxDepth;
+            event.fallbacks = c.fallbacks;
+            event.scratchBytes = c.scratchBytes;
+            event.commit();
+        }
+        SORTS.increment();
+        c.last = new Snapshot(c.algorithm, c.size, c.partitions, c.comparisons, c.swaps,
+            c.maxDepth, c.fallbacks, c.scratchBytes);
+        flush(c);
+        c.event = null;
+    }
+
+    /**
+     * Uma partição, com as comparações e trocas feitas nela.
+     */
+    static void partition(long comparisons, long swaps) {
+        Counters c = LOCAL.get();
+        c.partitions++;
+        c.comparisons += comparisons;
+        c.swaps += swaps;
+        if (c.nesting == 0) flush(c);
+    }
+
+    /**
+     * Profundidade de recursão atingida (0 = chamada inicial).
+     */
+    static void depth(int depth) {
+        Counters c = LOCAL.get();
+        c.maxDepth = Math.max(c.maxDepth, depth);
+        if (c.nesting == 0) flush(c);
+    }
+
+    /**
+     * Comparações e trocas/deslocamentos fora de uma partição (Insertion Sort, mesclagens).
+     */
+    static void work(long comparisons, long swaps) {
+        Counters c = LOCAL.get();
+        c.comparisons += comparisons;
+        c.swaps += swaps;
+        if (c.nesting == 0) flush(c);
+    }
+
+    /**
+     * Troca de algoritmo por excesso de profundidade.
+     */
+    static void fallback() {
+        Counters c = LOCAL.get();
+        c.fallbacks++;
+        if (c.nesting == 0) flush(c);
+    }
+
+    /**
+     * Alocação de área auxiliar (buffers de mesclagem, chaves do Radix Sort, etc.).
+     */
+    static void scratch(long bytes) {
+        Counters c = LOCAL.get();
+        c.scratchBytes += bytes;
+        if (c.nesting == 0) flush(c);
+    }
+
+    // =======================================================
+    // ORDENAÇÕES DIVIDIDAS ENTRE THREADS
+    // =======================================================
+
+    /**
+     * Trabalho de uma mesma ordenação dividido em tarefas de outras threads (parallelSort).
+     * Cada tarefa conta em contadores próprios, já aninhados: ordenações chamadas dentro dela
+     * (ex.: o Merge Sort de fallback) não geram evento nem contam como ordenação. Ao terminar,
+     * a tarefa soma seus contadores ao grupo e a thread que iniciou a ordenação os incorpora
+     * com {@link #join()} antes do end().
+     */
+    static final class TaskGroup {
+        private final LongAdder partitions = new LongAdder();
+        private final LongAdder comparisons = new LongAdder();
+        private final LongAdder swaps = new LongAdder();
+        private final LongAccumulator maxDepth = new LongAccumulator(Math::max, 0);
+        private final LongAdder fallbacks = new LongAdder();
+        private final LongAdder scratchBytes = new LongAdder();
+
+        /**
+         * Início de uma tarefa na thread atual (deve ser pareado com exit() em um finally).
+         */
+        void enter() {
+            Counters task = new Counters();
+            task.nesting = 1;
+            task.saved = LOCAL.get();
+            LOCAL.set(task);
+        }
+
+        /**
+         * Fim da tarefa: soma os contadores ao grupo e restaura os da thread.
+         */
+        void exit() {
+            Counters task = LOCAL.get();
+            partitions.add(task.partitions);
+            comparisons.add(task.comparisons);
+            swaps.add(task.swaps);
+            maxDepth.accumulate(task.maxDepth);
+            fallbacks.add(task.fallbacks);
+            scratchBytes.add(task.scratchBytes);
+            LOCAL.set(task.saved);
+        }
+
+        /**
+         * Soma o trabalho das tarefas à ordenação em andamento na thread atual.
+         */
+        void join() {
+            Counters c = LOCAL.get();
+            c.partitions += partitions.sum();
+            c.comparisons += comparisons.sum();
+            c.swaps += swaps.sum();
+            c.maxDepth = Math.max(c.maxDepth, maxDepth.get());
+            c.fallbacks += fallbacks.sum();
+            c.scratchBytes += scratchBytes.sum();
+            if (c.nesting == 0) flush(c);
+        }
+    }
+
+    // =======================================================
+    // LEITURA
+    // =======================================================
+
+    /**
+     * Métricas da última ordenação concluída pela thread atual (null se nenhuma).
+     */
+    public static Snapshot last() {
+        return LOCAL.get().last;
+    }
+
+    /**
+     * Totais acumulados por todas as threads desde o início (ou desde o último reset).
+     */
+    public static Snapshot totals() {
+        return new Snapshot("TOTAL", SORTS.sum(), PARTITIONS.sum(), COMPARISONS.sum(), SWAPS.sum(),
+            MAX_DEPTH.get(), FALLBACKS.sum(), SCRATCH_BYTES.sum());
+    }
+
+    /**
+     * Zera os totais globais.
+     */
+    public static void reset() {
+        SORTS.reset();
+        PARTITIONS.reset();
+        COMPARISONS.reset();
+        SWAPS.reset();
+        MAX_DEPTH.reset();
+        FALLBACKS.reset();
+        SCRATCH_BYTES.reset();
+    }
+
+    private static void flush(Counters c) {
+        PARTITIONS.add(c.partitions);
+        COMPARISONS.add(c.comparisons);
+        SWAPS.add(c.swaps);
+        MAX_DEPTH.accumulate(c.maxDepth);
+        FALLBACKS.add(c.fallbacks);
+        SCRATCH_BYTES.add(c.scratchBytes);
+        c.partitions = 0;
+        c.comparisons = 0;
+        c.swaps = 0;
+        c.maxDepth = 0;
+        c.fallbacks = 0;
+        c.scratchBytes = 0;
+    }
+
+    /**
+     * Contadores da ordenação em andamento na thread.
+     */
+    private static final class Counters {
+        int nesting;
+        String algorithm;
+        long size;
+        long partitions;
+        long comparisons;
+        long swaps;
+        long maxDepth;
+        long fallbacks;
+        long scratchBytes;
+        SortEvent event;
+        Snapshot last;
+        Counters saved;  // Contadores da thread durante uma tarefa de TaskGroup
+    }
+
+    /**
+     * Evento JFR emitido a cada ordenação (ex.: java -XX:StartFlightRecording ...).
+     */
+    @Name("smartsort.Sort")
+    @Label("Sort")
+    @Category("SmartSort")
+    static final class SortEvent extends Event {
+        @Label("Algorithm")
+        String algorithm;
+        @Label("Size")
+        long size;
+        @Label("Partitions")
+        long partitions;
+        @Label("Comparisons")
+        long comparisons;
+        @Label("Swaps")
+        long swaps;
+        @Label("Max Depth")
+        long maxDepth;
+        @Label("Fallbacks")
+        long fallbacks;
+        @Label("Scratch Bytes")
+        long scratchBytes;
+    }
+
+    /**
+     * Implementação do MBean sobre os totais globais.
+     */
+    private static final class Bean implements SortMetricsMXBean {
+        @Override public long getSorts() { return SORTS.sum(); }
+        @Override public long getPartitions() { return PARTITIONS.sum(); }
+        @Override public long getComparisons() { return COMPARISONS.sum(); }
+        @Override public long getSwaps() { return SWAPS.sum(); }
+        @Override public long getMaxDepth() { return MAX_DEPTH.get(); }
+        @Override public long getFallbacks() { return FALLBACKS.sum(); }
+        @Override public long getScratchBytes() { return SCRATCH_BYTES.sum(); }
+        @Override public void reset() { SortMetrics.reset(); }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,26 @@
+/**
+ * Interface JMX das métricas de ordenação (ver {@link SortMetrics}).
+ * Registrada como "SmartSort:type=SortMetrics" quando a instrumentação está ligada;
+ * pode ser lida no JConsole/VisualVM ou por qualquer cliente JMX.
+ */
+public interface SortMetricsMXBean {
+
+    long getSorts();
+
+    long getPartitions();
+
+    long getComparisons();
+
+    long getSwaps();
+
+    long getMaxDepth();
+
+    long getFallbacks();
+
+    long getScratchBytes();
+
+    /**
+     * Zera os totais acumulados.
+     */
+    void reset();
+}
\ No newline at end of file
@@ -0,0 +1,191 @@
+import java.util.Arrays;
+
+/**
+ * Coluna mantida ordenada incrementalmente, para fluxos de inserção em lotes.
+ * * **Problema:** Reordenar o array inteiro a cada lote custa O(n log n) por lote.
+ * * **Estrutura (estilo LSM):**
+ * 1. Novos valores vão para um buffer de inserção.
+ * 2. Quando o buffer enche, só o lote é ordenado (SmartSort) e vira um nível.
+ * 3. Os níveis funcionam como um contador binário: se o nível i já estiver ocupado, os dois
+ *    são mesclados (merge com galope) e o resultado sobe para o nível i+1.
+ * Cada valor é mesclado no máximo O(log(n / lote)) vezes, então a inserção é barata amortizada.
+ * * **Consultas:** Posto (rank) e contagem/extração por intervalo usam busca binária em cada
+ * nível, somando ao resultado uma varredura do buffer (que é pequeno).
+ * * **Ordem:** Todas as comparações seguem Double.compare, a ordem total do SmartSort: NaN fica
+ * depois de +Infinity e -0.0 antes de 0.0 (ex.: countInRange(-0.0, 0.0) conta só os -0.0).
+ */
+public class SortedColumn {
+
+    /** Tamanho padrão do buffer de inserção. */
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+
+    private final double[] pending;
+    private int pendingCount;
+
+    // levels[i] é nulo ou um array ordenado (no máximo lote * 2^i valores); a ocupação segue
+    // um contador binário
+    private double[][] levels = new double[8][];
+    private int size;
+
+    /**
+     * Cria uma coluna vazia com o tamanho de lote padrão.
+     */
+    public SortedColumn() {
+        this(DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Cria uma coluna vazia.
+     * @param batchSize Capacidade do buffer de inserção (valores acumulados antes de ordenar).
+     */
+    public SortedColumn(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("O tamanho do lote deve ser >= 1: " + batchSize);
+        }
+        pending = new double[batchSize];
+    }
+
+    /**
+     * Insere um valor (vai para o buffer; o buffer é ordenado e mesclado quando enche).
+     */
+    public void add(double value) {
+        pending[pendingCount++] = value;
+        size++;
+        if (pendingCount == pending.length) {
+            flush();
+        }
+    }
+
+    /**
+     * Insere vários valores.
+     */
+    public void addAll(double[] values) {
+        for (double value : values) {
+            add(value);
+        }
+    }
+
+    /**
+     * Ordena o buffer de inserção (sempre cheio) e o incorpora aos níveis.
+     * Só é chamado com um lote completo, para que o nível i tenha no máximo lote * 2^i valores
+     * (exatamente esse tamanho, exceto o nível em que toArray guarda a compactação); valores de
+     * um lote incompleto continuam no buffer e entram nas consultas por varredura.
+     */
+    private void flush() {
+        double[] carry = Arrays.copyOf(pending, pendingCount);
+        pendingCount = 0;
+        SmartSort.sortAdaptive(carry);
+
+        // Contador binário: mescla enquanto o nível estiver ocupado
+        int i = 0;
+        while (i < levels.length && levels[i] != null) {
+            carry = MergeSort.mergeGalloping(levels[i], levels[i].length, carry, carry.length);
+            levels[i] = null;
+            i++;
+        }
+        if (i == levels.length) {
+            levels = Arrays.copyOf(levels, levels.length * 2);
+        }
+        levels[i] = carry;
+    }
+
+    /**
+     * Quantidade total de valores (níveis + buffer).
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Posto de x: quantos valores são estritamente menores que x.
+     */
+    public int rank(double x) {
+        int rank = 0;
+        for (double[] level : levels) {
+            if (level != null) rank += lowerBound(level, x);
+        }
+        for (int i = 0; i < pendingCount; i++) {
+            if (Double.compare(pending[i], x) < 0) rank++;
+        }
+        return rank;
+    }
+
+    /**
+     * Quantos valores estão no intervalo [from, to).
+     */
+    public int countInRange(double from, double to) {
+        if (Double.compare(from, to) >= 0) return 0;
+        return rank(to) - rank(from);
+    }
+
+    /**
+     * Retorna, em ordem crescente, os valores do intervalo [from, to).
+     * Só a fatia do buffer é ordenada; cada nível contribui com uma fatia já ordenada
+     * (busca binária), mesclada ao resultado com galope. Os níveis são percorridos do menor
+     * para o maior, então cada mesclagem custa no máximo o dobro da fatia do nível novo.
+     */
+    public double[] range(double from, double to) {
+        if (Double.compare(from, to) >= 0) return new double[0];
+
+        double[] result = new double[pendingCount];
+        int k = 0;
+        for (int i = 0; i < pendingCount; i++) {
+            if (Double.compare(pending[i], from) >= 0 && Double.compare(pending[i], to) < 0) result[k++] = pending[i];
+        }
+        result = Arrays.copyOf(result, k);
+        SmartSort.sortAdaptive(result);
+
+        for (double[] level : levels) {
+            if (level == null) continue;
+            int start = lowerBound(level, from);
+            int end = lowerBound(level, to);
+            if (start == end) continue;
+            double[] slice = Arrays.copyOfRange(level, start, end);
+            result = MergeSort.mergeGalloping(slice, slice.length, result, result.length);
+        }
+        return result;
+    }
+
+    /**
+     * Compacta os níveis em um único array ordenado e retorna uma cópia com todos os
+     * valores (o buffer é mesclado apenas na cópia e continua pendente até completar o lote).
+     * A coluna continua utilizável.
+     */
+    public double[] toArray() {
+        double[] merged = new double[0];
+        for (int i = 0; i < levels.length; i++) {
+            if (levels[i] != null) {
+                merged = MergeSort.mergeGalloping(levels[i], levels[i].length, merged, merged.length);
+                levels[i] = null;
+            }
+        }
+
+        // Guarda o resultado compactado no menor nível i com lote * 2^i >= tamanho
+        if (merged.length > 0) {
+            int level = 0;
+            while ((long) pending.length << level < merged.length) level++;
+            if (level >= levels.length) {
+                levels = Arrays.copyOf(levels, level + 1);
+            }
+            levels[level] = merged;
+        }
+
+        double[] tail = Arrays.copyOf(pending, pendingCount);
+        SmartSort.sortAdaptive(tail);
+        return MergeSort.mergeGalloping(merged, merged.length, tail, tail.length);
+    }
+
+    /**
+     * Primeira posição de arr com valor >= x (busca binária).
+     */
+    private static int lowerBound(double[] arr, double x) {
+        int lo = 0;
+        int hi = arr.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (Double.compare(arr[mid], x) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,199 @@
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Matriz completa de cargas ({@link WorkloadGenerator}) x algoritmos x tamanhos.
+ * * **Execução:** Para cada (padrão, tamanho) a entrada é gerada uma vez e todos os
+ * algoritmos rodam em paralelo sobre cópias dela, em um pool de 'workers' threads.
+ * Com vários workers as medições competem por cache e banda de memória; para números
+ * comparáveis entre si (ou tamanhos de 100M, em que cada cópia ocupa 800 MB) use 1 worker.
+ * * **Medida:** Melhor tempo de 'repeticoes' execuções, convertido em elementos por segundo.
+ * Cada resultado é conferido contra Arrays.sort.
+ * * **Saída:** CSV/resultados_workloads.csv (padrao,tamanho,algoritmo,tempo_ms,elementos_por_s,ok).
+ */
+public class WorkloadBenchmark {
+
+    private static final String[] ALGORITMOS = {
+        "MERGE", "QUICK", "SMART", "SMART_3WAY", "SMART_TUNED", "SMART_ADAPTIVE",
+        "SMART_BRANCHLESS", "RADIX", "JDK"
+    };
+
+    // O Quick Sort com pivô fixo é O(n²) e recursão O(n) em vários padrões: acima disso não é medido
+    private static final int QUICK_LIMITE = 20_000;
+
+    // Pilha das threads de medição: o Quick Sort puro chega a QUICK_LIMITE níveis de recursão
+    private static final long PILHA_WORKER = 64L << 20;
+
+    /**
+     * Configuração da matriz.
+     */
+    static final class Config {
+        int[] tamanhos = {10_000, 100_000, 1_000_000};
+        String[] padroes = WorkloadGenerator.PATTERNS;
+        String[] algoritmos = ALGORITMOS;
+        int workers = Runtime.getRuntime().availableProcessors();
+        int repeticoes = 3;
+        long seed = 42;
+        String saida = "CSV/resultados_workloads.csv";
+    }
+
+    /**
+     * Uso: java WorkloadBenchmark [--sizes 10000,1000000] [--patterns SAWTOOTH,ZIPF]
+     * [--algorithms SMART,JDK] [--workers 4] [--repeats 3] [--seed 42] [--output arquivo.csv]
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        run(parseArgs(args));
+    }
+
+    /**
+     * Executa a matriz e grava o CSV (uma linha por padrão, tamanho e algoritmo).
+     */
+    static void run(Config config) throws IOException, InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(config.workers,
+            r -> new Thread(null, r, "workload-worker", PILHA_WORKER));
+        try (FileWriter writer = new FileWriter(config.saida)) {
+            writer.write("padrao,tamanho,algoritmo,tempo_ms,elementos_por_s,ok\n");
+
+            for (int n : config.tamanhos) {
+                for (String padrao : config.padroes) {
+                    System.out.println("\n=== " + padrao + " | N = " + n + " ===");
+                    double[] entrada = WorkloadGenerator.generate(padrao, n, config.seed);
+                    double[] esperado = entrada.clone();
+                    Arrays.sort(esperado);
+
+                    List<Future<double[]>> futuros = new ArrayList<>();
+                    for (String algo : config.algoritmos) {
+                        futuros.add(pool.submit(() -> medir(algo, entrada, esperado, config.repeticoes)));
+                    }
+
+                    for (int a = 0; a < config.algoritmos.length; a++) {
+                        double[] resultado;
+                        try {
+                            resultado = futuros.get(a).get();
+                        } catch (ExecutionException e) {
+                            throw new IOException("Falha em " + config.algoritmos[a] + " " + padrao + " n=" + n, e.getCause());
+                        }
+                        double tempoMs = resultado[0];
+                        double elementosPorS = n / (tempoMs / 1000.0);
+                        String ok = Double.isNaN(tempoMs) ? "" : Boolean.toString(resultado[1] == 1);
+
+                        System.out.printf(Locale.US, "%-16s %12.3f ms %16.0f elem/s %s%n",
+                            config.algoritmos[a], tempoMs, elementosPorS, ok);
+                        writer.write(String.format(Locale.US, "%s,%d,%s,%.4f,%.0f,%s%n",
+                            padrao, n, config.algoritmos[a], tempoMs, elementosPorS, ok));
+                    }
+                    writer.flush();
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        System.out.println("\n✅ Matriz de cargas salva em " + config.saida);
+    }
+
+    /**
+     * Ordena cópias da entrada 'repeticoes' vezes.
+     * @return [melhor tempo em ms (NaN se não medido), 1 se o resultado confere com Arrays.sort]
+     */
+    private static double[] medir(String algo, double[] entrada, double[] esperado, int repeticoes) {
+        if (algo.equals("QUICK") && entrada.length > QUICK_LIMITE) {
+            return new double[]{Double.NaN, 0};
+        }
+        double melhor = Double.POSITIVE_INFINITY;
+        boolean ok = true;
+        for (int r = 0; r < repeticoes; r++) {
+            double[] arr = entrada.clone();
+            long inicio = System.nanoTime();
+            ordenar(algo, arr);
+            melhor = Math.min(melhor, (System.nanoTime() - inicio) / 1_000_000.0);
+            ok &= Arrays.equals(arr, esperado);
+        }
+        return new double[]{melhor, ok ? 1 : 0};
+    }
+
+    private static void ordenar(String algo, double[] arr) {
+        switch (algo) {
+            case "MERGE":
+                MergeSort.sort(arr, 0, arr.length - 1);
+                break;
+            case "QUICK":
+                QuickSort.sort(arr, 0, arr.length - 1);
+                break;
+            case "SMART":
+                SmartSort.sort(arr);
+                break;
+            case "SMART_3WAY":
+                SmartSort.sortThreeWay(arr);
+                break;
+            case "SMART_TUNED":
+                SmartSort.sortTuned(arr);
+                break;
+            case "SMART_ADAPTIVE":
+                SmartSort.sortAdaptive(arr);
+                break;
+            case "SMART_BRANCHLESS":
+                SmartSort.sortBranchless(arr);
+                break;
+            case "RADIX":
+                RadixSort.sort(arr);
+                break;
+            case "JDK":
+                Arrays.sort(arr);
+                break;
+            default:
+                throw new IllegalArgumentException("Algoritmo desconhecido: " + algo);
+        }
+    }
+
+    static Config parseArgs(String[] args) {
+        Config config = new Config();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--sizes":
+                    config.tamanhos = Arrays.stream(value.split(",")).mapToInt(Integer::parseInt).toArray();
+                    break;
+                case "--patterns":
+                    config.padroes = value.split(",");
+                    break;
+                case "--algorithms":
+                    config.algoritmos = value.split(",");
+                    break;
+                case "--workers":
+                    config.workers = Integer.parseInt(value);
+                    break;
+                case "--repeats":
+                    config.repeticoes = Integer.parseInt(value);
+                    break;
+                case "--seed":
+                    config.seed = Long.parseLong(value);
+                    break;
+                case "--output":
+                    config.saida = value;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Opção desconhecida: " + args[i]);
+            }
+        }
+        if (config.workers < 1 || config.repeticoes < 1 || Arrays.stream(config.tamanhos).anyMatch(n -> n < 1)) {
+            throw new IllegalArgumentException("sizes, workers e repeats devem ser >= 1");
+        }
+        List<String> padroes = Arrays.asList(WorkloadGenerator.PATTERNS);
+        for (String padrao : config.padroes) {
+            if (!padroes.contains(padrao)) throw new IllegalArgumentException("Padrão desconhecido: " + padrao);
+        }
+        List<String> algoritmos = Arrays.asList(ALGORITMOS);
+        for (String algo : config.algoritmos) {
+            if (!algoritmos.contains(algo)) throw new IllegalArgumentException("Algoritmo desconhecido: " + algo);
+        }
+        return config;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,305 @@
+import java.util.Random;
+
+/**
+ * Gerador de cargas de teste para os algoritmos de ordenação.
+ * Além de aleatório, ordenado e reverso, produz as distribuições que mais afetam
+ * algoritmos baseados em Quick Sort e em detecção de trechos:
+ * - Dente de serra e "órgão de tubos" (muitos trechos ordenados);
+ * - Poucos valores distintos, Gaussiana e Zipf (chaves repetidas e assimetria);
+ * - Quase ordenado (k trocas aleatórias sobre um array ordenado);
+ * - Adversário "antiquicksort" de McIlroy contra o modo ajustado do SmartSort.
+ * Todos os padrões são determinísticos para uma mesma semente.
+ */
+public class WorkloadGenerator {
+
+    /** Padrões disponíveis (nomes aceitos por {@link #generate(String, int, long)}). */
+    public static final String[] PATTERNS = {
+        "UNIFORM", "SORTED", "REVERSED", "SAWTOOTH", "ORGAN_PIPE", "FEW_UNIQUE",
+        "GAUSSIAN", "ZIPF", "NEARLY_SORTED", "ANTIQUICKSORT"
+    };
+
+    /**
+     * Gera o padrão pelo nome, com os parâmetros padrão de cada um.
+     * @param pattern Um dos nomes de {@link #PATTERNS}.
+     * @param n Quantidade de elementos.
+     * @param seed Semente dos padrões aleatórios.
+     */
+    public static double[] generate(String pattern, int n, long seed) {
+        switch (pattern) {
+            case "UNIFORM":
+                return uniform(n, seed);
+            case "SORTED":
+                return sorted(n);
+            case "REVERSED":
+                return reversed(n);
+            case "SAWTOOTH":
+                return sawtooth(n, Math.max(2, (int) Math.sqrt(n)));
+            case "ORGAN_PIPE":
+                return organPipe(n);
+            case "FEW_UNIQUE":
+                return fewUnique(n, 10, seed);
+            case "GAUSSIAN":
+                return gaussian(n, seed);
+            case "ZIPF":
+                return zipf(n, 1000, 1.0, seed);
+            case "NEARLY_SORTED":
+                return nearlySorted(n, Math.max(1, n / 1000), seed);
+            case "ANTIQUICKSORT":
+                return antiQuicksort(n);
+            default:
+                throw new IllegalArgumentException("Padrão desconhecido: " + pattern);
+        }
+    }
+
+    /** Valores uniformes em [0, 1). */
+    public static double[] uniform(int n, long seed) {
+        Random random = new Random(seed);
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) values[i] = random.nextDouble();
+        return values;
+    }
+
+    /** 0, 1, 2, ..., n-1. */
+    public static double[] sorted(int n) {
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) values[i] = i;
+        return values;
+    }
+
+    /** n-1, n-2, ..., 0. */
+    public static double[] reversed(int n) {
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) values[i] = n - 1 - i;
+        return values;
+    }
+
+    /**
+     * Dente de serra: 0, 1, ..., period-1, 0, 1, ... (n / period trechos crescentes).
+     */
+    public static double[] sawtooth(int n, int period) {
+        if (period < 1) throw new IllegalArgumentException("O período deve ser >= 1: " + period);
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) values[i] = i % period;
+        return values;
+    }
+
+    /**
+     * Órgão de tubos: sobe até o meio e desce (0, 1, ..., m, ..., 1, 0).
+     */
+    public static double[] organPipe(int n) {
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) values[i] = Math.min(i, n - 1 - i);
+        return values;
+    }
+
+    /**
+     * Valores sorteados entre 'distinct' chaves (0 a distinct-1).
+     */
+    public static double[] fewUnique(int n, int distinct, long seed) {
+        if (distinct < 1) throw new IllegalArgumentException("Quantidade de chaves deve ser >= 1: " + distinct);
+        Random random = new Random(seed);
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) values[i] = random.nextInt(distinct);
+        return values;
+    }
+
+    /** Normal padrão (média 0, desvio 1). */
+    public static double[] gaussian(int n, long seed) {
+        Random random = new Random(seed);
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) values[i] = random.nextGaussian();
+        return values;
+    }
+
+    /**
+     * Zipf: chaves 1..distinct com probabilidade proporcional a 1 / k^exponent
+     * (poucas chaves muito frequentes e uma cauda longa). Amostragem pela CDF inversa.
+     */
+    public static double[] zipf(int n, int distinct, double exponent, long seed) {
+        if (distinct < 1) throw new IllegalArgumentException("Quantidade de chaves deve ser >= 1: " + distinct);
+        double[] cdf = new double[distinct];
+        double sum = 0;
+        for (int k = 1; k <= distinct; k++) {
+            sum += 1.0 / Math.pow(k, exponent);
+            cdf[k - 1] = sum;
+        }
+
+        Random random = new Random(seed);
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            double u = random.nextDouble() * sum;
+            // Primeira chave com cdf >= u
+            int lo = 0;
+            int hi = distinct - 1;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (cdf[mid] < u) lo = mid + 1;
+                else hi = mid;
+            }
+            values[i] = lo + 1;
+        }
+        return values;
+    }
+
+    /**
+     * Array ordenado com 'swaps' trocas entre posições aleatórias.
+     */
+    public static double[] nearlySorted(int n, int swaps, long seed) {
+        double[] values = sorted(n);
+        if (n < 2) return values;
+        Random random = new Random(seed);
+        for (int s = 0; s < swaps; s++) {
+            int i = random.nextInt(n);
+            int j = random.nextInt(n);
+            double temp = values[i];
+            values[i] = values[j];
+            values[j] = temp;
+        }
+        return values;
+    }
+
+    // =======================================================
+    // ADVERSÁRIO DE McILROY ("A Killer Adversary for Quicksort", 1999)
+    // =======================================================
+
+    /**
+     * Entrada adversária para {@link SmartSort#sortTuned(double[])}.
+     * Todos os elementos começam como "gás" (valor ainda indefinido, maior que qualquer
+     * valor definido). Uma cópia do algoritmo (mesmo pivô, mesma partição de Hoare, mesmo
+     * Insertion Sort nas folhas) é executada sobre índices; sempre que dois gases são
+     * comparados, um deles é congelado com o próximo valor sólido, preferindo manter como
+     * gás o candidato a pivô, que assim acaba sempre em um extremo da partição.
+     * Ao ordenar o resultado com o SmartSort ajustado, as mesmas comparações acontecem,
+     * a recursão degenera e o limite de profundidade aciona o fallback para Heap Sort.
+     * @return Uma permutação de 0..n-1.
+     */
+    public static double[] antiQuicksort(int n) {
+        Adversary adversary = new Adversary(n);
+        if (n > 1) {
+            adversary.introSort(0, n - 1, 0, SmartSort.depthLimit(n));
+        }
+
+        // Gases restantes (regiões que o algoritmo real entrega ao Heap Sort) recebem os maiores valores
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            if (adversary.val[i] == adversary.gas) adversary.val[i] = adversary.solid++;
+            values[i] = adversary.val[i];
+        }
+        return values;
+    }
+
+    /**
+     * Estado do adversário: ids[p] é o elemento (posição original) que está na posição p
+     * da cópia do algoritmo; val[e] é o valor do elemento e (ou 'gas').
+     */
+    private static final class Adversary {
+        final int[] ids;
+        final int[] val;
+        final int gas;
+        int solid;
+        int candidate;
+
+        Adversary(int n) {
+            ids = new int[n];
+            val = new int[n];
+            gas = n;
+            for (int i = 0; i < n; i++) {
+                ids[i] = i;
+                val[i] = gas;
+            }
+        }
+
+        /**
+         * Comparação "val[x] < val[y]" com as regras do adversário.
+         */
+        boolean less(int x, int y) {
+            if (val[x] == gas && val[y] == gas) {
+                if (x == candidate) val[x] = solid++;
+                else val[y] = solid++;
+            }
+            if (val[x] == gas) candidate = x;
+            else if (val[y] == gas) candidate = y;
+            return val[x] < val[y];
+        }
+
+        // --- Cópia de SmartSort.introSort sobre índices (mesma ordem de comparações) ---
+
+        void introSort(int low, int high, int depth, int depthLimit) {
+            while (high - low + 1 > SmartSort.DEFAULT_INSERTION_THRESHOLD) {
+                // O algoritmo real passa para o Heap Sort: o adversário para de conduzir aqui
+                if (depth > depthLimit) return;
+                depth++;
+
+                swap(low, choosePivot(low, high));
+                int pi = hoarePartition(low, high);
+
+                if (pi - low < high - pi) {
+                    introSort(low, pi - 1, depth, depthLimit);
+                    low = pi + 1;
+                } else {
+                    introSort(pi + 1, high, depth, depthLimit);
+                    high = pi - 1;
+                }
+            }
+            insertionSort(low, high);
+        }
+
+        int choosePivot(int low, int high) {
+            int n = high - low + 1;
+            int mid = low + (n >>> 1);
+            if (n <= SmartSort.NINTHER_THRESHOLD) {
+                return medianOfThree(low, mid, high);
+            }
+            int eps = n >>> 3;
+            int a = medianOfThree(low, low + eps, low + 2 * eps);
+            int b = medianOfThree(mid - eps, mid, mid + eps);
+            int c = medianOfThree(high - 2 * eps, high - eps, high);
+            return medianOfThree(a, b, c);
+        }
+
+        int medianOfThree(int i, int j, int k) {
+            if (less(ids[i], ids[j])) {
+                if (less(ids[j], ids[k])) return j;
+                return less(ids[i], ids[k]) ? k : i;
+            }
+            if (less(ids[k], ids[j])) return j;
+            return less(ids[k], ids[i]) ? k : i;
+        }
+
+        int hoarePartition(int low, int high) {
+            int pivot = ids[low];
+            int i = low;
+            int j = high + 1;
+            while (true) {
+                while (less(ids[++i], pivot)) {
+                    if (i == high) break;
+                }
+                while (less(pivot, ids[--j])) {
+                    // ids[low] == pivot funciona como sentinela para j
+                }
+                if (i >= j) break;
+                swap(i, j);
+            }
+            swap(low, j);
+            return j;
+        }
+
+        void insertionSort(int low, int high) {
+            for (int i = low + 1; i <= high; i++) {
+                int value = ids[i];
+                int j = i - 1;
+                while (j >= low && less(value, ids[j])) {
+                    ids[j + 1] = ids[j];
+                    j--;
+                }
+                ids[j + 1] = value;
+            }
+        }
+
+        void swap(int i, int j) {
+            int temp = ids[i];
+            ids[i] = ids[j];
+            ids[j] = temp;
+        }
+    }
+}
\ No newline at end of file